@@ -0,0 +1,24 @@
+package study.querydsl.predicate;
+
+/**
+ * 조건 연산자 - 인덱스를 탈 수 있는 연산만 (like '%x%' 같은 contains 는 없음)
+ */
+public enum Operator {
+    EQ("eq"),
+    GT("gt"),
+    GOE("goe"),
+    LT("lt"),
+    LOE("loe"),
+    // like 'x%' - 문자열만
+    STARTS_WITH("startsWith");
+
+    private final String method;
+
+    Operator(String method) {
+        this.method = method;
+    }
+
+    public String method() {
+        return method;
+    }
+}
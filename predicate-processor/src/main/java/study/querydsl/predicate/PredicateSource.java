@@ -0,0 +1,27 @@
+package study.querydsl.predicate;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 검색 조건 클래스에서 만들 Predicate 클래스
+ * name: 생성할 클래스 이름 (검색 조건 클래스와 같은 패키지)
+ * aliases: static import 할 Q타입 변수 (study.querydsl.entity.QMember.member)
+ * joins: 조인이 필요한 alias - 해당 alias 조건이 있을 때만 true 인 joins{Alias}(condition) 생성
+ *
+ * 같은 필드로 JPA Q타입, querydsl-sql S타입 둘 다 만들 때는 여러 개 선언
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.SOURCE)
+@Repeatable(PredicateSources.class)
+public @interface PredicateSource {
+
+    String name();
+
+    String[] aliases();
+
+    String[] joins() default {};
+}
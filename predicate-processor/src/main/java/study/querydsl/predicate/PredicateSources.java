@@ -0,0 +1,13 @@
+package study.querydsl.predicate;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.SOURCE)
+public @interface PredicateSources {
+
+    PredicateSource[] value();
+}
@@ -0,0 +1,20 @@
+package study.querydsl.predicate;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 검색 조건 필드 -> Predicate
+ * path: PredicateSource 의 alias 로 시작하는 경로 (member.username, team.name)
+ * 값이 null (문자열은 빈 문자열 포함) 이면 조건 없음
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.SOURCE)
+public @interface QueryPredicate {
+
+    String path();
+
+    Operator op() default Operator.EQ;
+}
@@ -0,0 +1,221 @@
+package study.querydsl.predicate.processor;
+
+import study.querydsl.predicate.Operator;
+import study.querydsl.predicate.PredicateSource;
+import study.querydsl.predicate.PredicateSources;
+import study.querydsl.predicate.QueryPredicate;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * @PredicateSource 클래스의 @QueryPredicate 필드로 Predicate 클래스 생성 (컴파일 타임, 요청 시 리플렉션 없음)
+ *
+ * public static BooleanExpression {필드}(값)    - 필드 하나의 조건, 값이 없으면 null
+ * public static Predicate[] of(condition)      - 모든 조건, where(...) 에 그대로
+ * public static boolean joins{Alias}(condition) - joins 에 선언한 alias 의 조건이 있는지 (조인 생략 판단)
+ *
+ * 값은 condition 의 getter (get{Field}, boolean 은 is{Field}) 로 읽음 - Lombok getter 도 가능
+ * Q타입은 같은 컴파일의 querydsl APT 가 만든 것을 static import 로 참조
+ */
+@SupportedAnnotationTypes({
+        "study.querydsl.predicate.PredicateSource",
+        "study.querydsl.predicate.PredicateSources"})
+public class PredicateProcessor extends AbstractProcessor {
+
+    private static final String STRING = "java.lang.String";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Set<Element> types = new LinkedHashSet<>();
+        types.addAll(roundEnv.getElementsAnnotatedWith(PredicateSource.class));
+        types.addAll(roundEnv.getElementsAnnotatedWith(PredicateSources.class));
+
+        for (TypeElement type : ElementFilter.typesIn(types)) {
+            List<Field> fields = fields(type);
+            for (PredicateSource source : type.getAnnotationsByType(PredicateSource.class)) {
+                if (validate(type, source, fields)) {
+                    write(type, source, fields);
+                }
+            }
+        }
+        return true;
+    }
+
+    private List<Field> fields(TypeElement type) {
+        List<Field> fields = new ArrayList<>();
+        for (VariableElement element : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            QueryPredicate predicate = element.getAnnotation(QueryPredicate.class);
+            if (predicate != null) {
+                fields.add(new Field(element, predicate));
+            }
+        }
+        return fields;
+    }
+
+    private boolean validate(TypeElement type, PredicateSource source, List<Field> fields) {
+        boolean valid = true;
+        List<String> aliases = new ArrayList<>();
+        for (String alias : source.aliases()) {
+            aliases.add(simpleName(alias));
+        }
+        for (String join : source.joins()) {
+            if (!aliases.contains(join)) {
+                error(type, "join alias '" + join + "' is not declared in aliases " + Arrays.toString(source.aliases()));
+                valid = false;
+            }
+        }
+        for (Field field : fields) {
+            if (!aliases.contains(field.alias())) {
+                error(field.element, "path '" + field.predicate.path() + "' must start with one of " + aliases);
+                valid = false;
+            }
+            if (field.predicate.op() == Operator.STARTS_WITH && !field.isString()) {
+                error(field.element, "STARTS_WITH is only supported on String fields");
+                valid = false;
+            }
+        }
+        return valid;
+    }
+
+    private void write(TypeElement type, PredicateSource source, List<Field> fields) {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+        String packageName = pkg.getQualifiedName().toString();
+        String conditionType = type.getSimpleName().toString();
+        String className = source.name();
+
+        StringBuilder out = new StringBuilder();
+        if (!pkg.isUnnamed()) {
+            out.append("package ").append(packageName).append(";\n\n");
+        }
+        out.append("import com.querydsl.core.types.Predicate;\n");
+        out.append("import com.querydsl.core.types.dsl.BooleanExpression;\n\n");
+        out.append("import javax.annotation.processing.Generated;\n\n");
+        for (String alias : source.aliases()) {
+            out.append("import static ").append(alias).append(";\n");
+        }
+        out.append("\n");
+        out.append("/**\n * ").append(conditionType).append(" 의 @QueryPredicate 로 생성 (").append(getClass().getSimpleName()).append(")\n */\n");
+        out.append("@Generated(\"").append(getClass().getName()).append("\")\n");
+        out.append("public final class ").append(className).append(" {\n\n");
+        out.append("    private ").append(className).append("() {\n    }\n");
+
+        for (Field field : fields) {
+            out.append("\n    public static BooleanExpression ").append(field.name()).append("(").append(field.type()).append(" value) {\n");
+            String expression = field.predicate.path() + "." + field.predicate.op().method() + "(value)";
+            if (field.isPrimitive()) {
+                out.append("        return ").append(expression).append(";\n");
+            } else {
+                out.append("        return ").append(field.present("value")).append(" ? ").append(expression).append(" : null;\n");
+            }
+            out.append("    }\n");
+        }
+
+        out.append("\n    public static Predicate[] of(").append(conditionType).append(" condition) {\n");
+        out.append("        return new Predicate[]{");
+        for (int i = 0; i < fields.size(); i++) {
+            Field field = fields.get(i);
+            out.append(i == 0 ? "\n" : ",\n");
+            out.append("                ").append(field.name()).append("(condition.").append(field.getter()).append("())");
+        }
+        out.append("};\n    }\n");
+
+        for (String join : source.joins()) {
+            out.append("\n    public static boolean joins").append(capitalize(join)).append("(").append(conditionType).append(" condition) {\n");
+            List<String> checks = new ArrayList<>();
+            for (Field field : fields) {
+                if (field.alias().equals(join)) {
+                    checks.add(field.isPrimitive() ? "true" : field.present("condition." + field.getter() + "()"));
+                }
+            }
+            out.append("        return ").append(checks.isEmpty() ? "false" : String.join("\n                || ", checks)).append(";\n");
+            out.append("    }\n");
+        }
+        out.append("}\n");
+
+        String qualifiedName = pkg.isUnnamed() ? className : packageName + "." + className;
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()) {
+            writer.write(out.toString());
+        } catch (IOException e) {
+            error(type, "failed to write " + qualifiedName + ": " + e.getMessage());
+        }
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private static String simpleName(String alias) {
+        return alias.substring(alias.lastIndexOf('.') + 1);
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static class Field {
+
+        private final VariableElement element;
+        private final QueryPredicate predicate;
+
+        Field(VariableElement element, QueryPredicate predicate) {
+            this.element = element;
+            this.predicate = predicate;
+        }
+
+        String name() {
+            return element.getSimpleName().toString();
+        }
+
+        String type() {
+            return element.asType().toString();
+        }
+
+        String alias() {
+            String path = predicate.path();
+            int dot = path.indexOf('.');
+            return dot < 0 ? path : path.substring(0, dot);
+        }
+
+        boolean isPrimitive() {
+            return element.asType().getKind().isPrimitive();
+        }
+
+        boolean isString() {
+            return STRING.equals(type());
+        }
+
+        String getter() {
+            String prefix = element.asType().getKind() == TypeKind.BOOLEAN ? "is" : "get";
+            return prefix + capitalize(name());
+        }
+
+        // 문자열은 공백만 있어도 조건 없음 (StringUtils.hasText 와 동일)
+        String present(String value) {
+            return isString()
+                    ? value + " != null && !" + value + ".isBlank()"
+                    : value + " != null";
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package study.querydsl;
+
+import java.util.Arrays;
+
+/**
+ * 부하 테스트 source set 의 측정 도우미
+ * warm-up 으로 JIT 컴파일을 끝낸 뒤 rounds 번 측정한 값의 중앙값 (GC, 스케줄링으로 튀는 값 제외)
+ */
+public final class Benchmark {
+
+    private Benchmark() {
+    }
+
+    /**
+     * sample - 한 번 실행하고 측정값(나노초, 바이트 등)을 반환
+     */
+    public static long median(int warmUp, int rounds, Sample sample) throws Exception {
+        for (int i = 0; i < warmUp; i++) {
+            sample.run();
+        }
+        long[] values = new long[rounds];
+        for (int i = 0; i < rounds; i++) {
+            values[i] = sample.run();
+        }
+        Arrays.sort(values);
+        return values[rounds / 2];
+    }
+
+    /**
+     * 경과 시간 (나노초)
+     */
+    public static long nanos(Body body) throws Exception {
+        long start = System.nanoTime();
+        body.run();
+        return System.nanoTime() - start;
+    }
+
+    @FunctionalInterface
+    public interface Sample {
+        long run() throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface Body {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,46 @@
+package study.querydsl;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 기본 설정과 fast-startup 프로파일 기동 시간 비교 (gradle loadTest)
+ * 각자 메모리 DB 로 기동 (다른 부하 테스트 컨텍스트와 DB 를 공유하지 않음)
+ * - loadTest.startup.rounds: 프로파일별 기동 횟수 (중앙값)
+ * - loadTest.startup.minSpeedup: 지정하면 fast-startup 이 이 비율 이상 줄이지 못할 때 실패
+ * 기본은 출력만 - 컨텍스트 기동 시간은 CI 장비에서 편차가 커서 check 를 깨지 않도록
+ */
+class StartupTimeBenchmark {
+
+    static final int ROUNDS = Integer.getInteger("loadTest.startup.rounds", 5);
+    static final String MIN_SPEEDUP = System.getProperty("loadTest.startup.minSpeedup");
+
+    @Test
+    public void fastStartupProfile() throws Exception {
+        // 첫 기동은 클래스 로딩 비용이 포함됨으로 버림
+        long defaultMillis = Benchmark.median(1, ROUNDS, () -> startupMillis("loadtest"));
+        long fastMillis = Benchmark.median(1, ROUNDS, () -> startupMillis("loadtest,fast-startup"));
+
+        System.out.printf("startup (median of %d): default %d ms, fast-startup %d ms%n", ROUNDS, defaultMillis, fastMillis);
+        if (MIN_SPEEDUP != null) {
+            double minSpeedup = Double.parseDouble(MIN_SPEEDUP);
+            assertThat(fastMillis).as("fast-startup millis").isLessThan((long) (defaultMillis * (1 - minSpeedup)));
+        }
+    }
+
+    private long startupMillis(String profiles) {
+        long start = System.nanoTime();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(QuerydslApplication.class)
+                .run("--spring.profiles.active=" + profiles,
+                        "--spring.datasource.url=jdbc:h2:mem:startup",
+                        "--spring.r2dbc.url=r2dbc:h2:mem:///startup",
+                        "--server.port=0")) {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package study.querydsl.controller;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 닫힌 루프 부하 생성기 - 사용자(스레드)마다 응답을 받으면 바로 다음 요청
+ * 시나리오 이름별로 지연시간을 모아 백분위 계산
+ */
+class LoadGenerator {
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String baseUrl;
+    private final List<Scenario> scenarios = new ArrayList<>();
+    private int totalWeight;
+
+    LoadGenerator(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * @param weight 요청 비율
+     * @param path   랜덤 값으로 요청 경로 생성 (쿼리 파라미터 포함)
+     */
+    LoadGenerator scenario(String name, int weight, Function<ThreadLocalRandom, String> path) {
+        scenarios.add(new Scenario(name, weight, path));
+        totalWeight += weight;
+        return this;
+    }
+
+    Map<String, Result> run(int users, Duration duration) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(users);
+        long endNanos = System.nanoTime() + duration.toNanos();
+        List<Future<Map<String, Recorder>>> futures = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            futures.add(executor.submit(() -> drive(endNanos)));
+        }
+
+        Map<String, Recorder> merged = new LinkedHashMap<>();
+        for (Scenario scenario : scenarios) {
+            merged.put(scenario.name, new Recorder());
+        }
+        try {
+            for (Future<Map<String, Recorder>> future : futures) {
+                future.get().forEach((name, recorder) -> merged.get(name).merge(recorder));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Map<String, Result> results = new LinkedHashMap<>();
+        Recorder all = new Recorder();
+        merged.forEach((name, recorder) -> {
+            results.put(name, recorder.result(duration));
+            all.merge(recorder);
+        });
+        results.put("all", all.result(duration));
+        return results;
+    }
+
+    private Map<String, Recorder> drive(long endNanos) {
+        Map<String, Recorder> recorders = new LinkedHashMap<>();
+        for (Scenario scenario : scenarios) {
+            recorders.put(scenario.name, new Recorder());
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < endNanos) {
+            Scenario scenario = pick(random);
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + scenario.path.apply(random)))
+                    .timeout(Duration.ofSeconds(10))
+                    .header("Accept", "application/json")
+                    .GET()
+                    .build();
+            long start = System.nanoTime();
+            boolean ok;
+            try {
+                HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                ok = response.statusCode() == 200;
+            } catch (Exception e) {
+                ok = false;
+            }
+            recorders.get(scenario.name).record(System.nanoTime() - start, ok);
+        }
+        return recorders;
+    }
+
+    private Scenario pick(ThreadLocalRandom random) {
+        int value = random.nextInt(totalWeight);
+        for (Scenario scenario : scenarios) {
+            value -= scenario.weight;
+            if (value < 0) {
+                return scenario;
+            }
+        }
+        throw new IllegalStateException("no scenario");
+    }
+
+    private static class Scenario {
+        final String name;
+        final int weight;
+        final Function<ThreadLocalRandom, String> path;
+
+        Scenario(String name, int weight, Function<ThreadLocalRandom, String> path) {
+            this.name = name;
+            this.weight = weight;
+            this.path = path;
+        }
+    }
+
+    private static class Recorder {
+        long[] latencies = new long[1024];
+        int count;
+        int errors;
+
+        void record(long nanos, boolean ok) {
+            if (!ok) {
+                errors++;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+
+        void merge(Recorder other) {
+            for (int i = 0; i < other.count; i++) {
+                record(other.latencies[i], true);
+            }
+            errors += other.errors;
+        }
+
+        Result result(Duration duration) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new Result(count, errors, count / (duration.toMillis() / 1000.0),
+                    percentile(sorted, 0.5), percentile(sorted, 0.99), percentile(sorted, 0.999));
+        }
+
+        // nearest-rank
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(p * sorted.length);
+            return sorted[Math.max(0, rank - 1)] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+
+    static class Result {
+        final int requests;
+        final int errors;
+        final double requestsPerSecond;
+        final double p50Millis;
+        final double p99Millis;
+        final double p999Millis;
+
+        Result(int requests, int errors, double requestsPerSecond,
+               double p50Millis, double p99Millis, double p999Millis) {
+            this.requests = requests;
+            this.errors = errors;
+            this.requestsPerSecond = requestsPerSecond;
+            this.p50Millis = p50Millis;
+            this.p99Millis = p99Millis;
+            this.p999Millis = p999Millis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("requests=%d errors=%d rps=%.1f p50=%.2fms p99=%.2fms p999=%.2fms",
+                    requests, errors, requestsPerSecond, p50Millis, p99Millis, p999Millis);
+        }
+    }
+}
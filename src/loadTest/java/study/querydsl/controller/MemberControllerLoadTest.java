@@ -0,0 +1,108 @@
+package study.querydsl.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MemberController 부하 테스트 (gradle loadTest, check 에 포함)
+ * 설정은 시스템 프로퍼티 (gradle loadTest -DloadTest.members=100000 ...)
+ * - loadTest.members, loadTest.teams: 데이터 건수
+ * - loadTest.users: 동시 사용자 수, loadTest.warmUpSeconds, loadTest.seconds: 측정 시간
+ * - loadTest.slo.p99Millis, loadTest.slo.p999Millis, loadTest.slo.minRps: SLO (넘으면 실패)
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+class MemberControllerLoadTest {
+
+    static final int MEMBERS = Integer.getInteger("loadTest.members", 10_000);
+    static final int TEAMS = Integer.getInteger("loadTest.teams", 10);
+    static final int USERS = Integer.getInteger("loadTest.users", 16);
+    static final int WARM_UP_SECONDS = Integer.getInteger("loadTest.warmUpSeconds", 5);
+    static final int SECONDS = Integer.getInteger("loadTest.seconds", 20);
+    static final int SLO_P99_MILLIS = Integer.getInteger("loadTest.slo.p99Millis", 250);
+    static final int SLO_P999_MILLIS = Integer.getInteger("loadTest.slo.p999Millis", 1000);
+    static final int SLO_MIN_RPS = Integer.getInteger("loadTest.slo.minRps", 100);
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void before() {
+        Integer count = jdbcTemplate.queryForObject("select count(*) from member", Integer.class);
+        if (count != null && count >= MEMBERS) {
+            return;
+        }
+
+        List<Object[]> teams = new ArrayList<>();
+        for (long t = 1; t <= TEAMS; t++) {
+            teams.add(new Object[]{t, "team" + t, MEMBERS / TEAMS});
+        }
+        jdbcTemplate.batchUpdate("insert into team (team_id, name, member_count, version) values (?, ?, ?, 0)", teams);
+
+        List<Object[]> members = new ArrayList<>();
+        for (long m = 1; m <= MEMBERS; m++) {
+            members.add(new Object[]{TEAMS + m, "member" + m, (int) (m % 100), m % TEAMS + 1});
+        }
+        jdbcTemplate.batchUpdate("insert into member (member_id, username, age, team_id, version) values (?, ?, ?, ?, 0)", members);
+    }
+
+    @Test
+    public void searchLatencySlo() throws Exception {
+        LoadGenerator generator = new LoadGenerator("http://localhost:" + port)
+                // 회원명 단건, 팀 + 나이 범위 목록
+                .scenario("v1", 4, random -> random.nextBoolean()
+                        ? "/v1/member?username=member" + (random.nextInt(MEMBERS) + 1)
+                        : "/v1/member?teamName=team" + (random.nextInt(TEAMS) + 1) + ageRange(random, 2))
+                // 페이징 - 앞쪽 페이지 위주
+                .scenario("v2", 4, random -> "/v2/members?page=" + page(random) + "&size=" + size(random)
+                        + (random.nextBoolean() ? "&teamName=team" + (random.nextInt(TEAMS) + 1) : "")
+                        + ageRange(random, 30))
+                .scenario("v3", 2, random -> "/v3/members?page=" + page(random) + "&size=" + size(random)
+                        + ageRange(random, 30));
+
+        generator.run(USERS, Duration.ofSeconds(WARM_UP_SECONDS));
+        Map<String, LoadGenerator.Result> results = generator.run(USERS, Duration.ofSeconds(SECONDS));
+
+        System.out.println("load test: members=" + MEMBERS + ", users=" + USERS + ", seconds=" + SECONDS);
+        results.forEach((name, result) -> System.out.println("  " + name + ": " + result));
+
+        LoadGenerator.Result all = results.get("all");
+        assertThat(all.errors).as("errors").isZero();
+        assertThat(all.requestsPerSecond).as("requests/sec").isGreaterThanOrEqualTo(SLO_MIN_RPS);
+        for (Map.Entry<String, LoadGenerator.Result> entry : results.entrySet()) {
+            assertThat(entry.getValue().p99Millis).as(entry.getKey() + " p99").isLessThanOrEqualTo(SLO_P99_MILLIS);
+            assertThat(entry.getValue().p999Millis).as(entry.getKey() + " p999").isLessThanOrEqualTo(SLO_P999_MILLIS);
+        }
+    }
+
+    private static String ageRange(ThreadLocalRandom random, int width) {
+        int ageGoe = random.nextInt(100 - width);
+        return "&ageGoe=" + ageGoe + "&ageLoe=" + (ageGoe + width);
+    }
+
+    // 80% 는 첫 5 페이지
+    private static int page(ThreadLocalRandom random) {
+        return random.nextInt(10) < 8 ? random.nextInt(5) : random.nextInt(50);
+    }
+
+    private static int size(ThreadLocalRandom random) {
+        int[] sizes = {10, 20, 50};
+        return sizes[random.nextInt(sizes.length)];
+    }
+}
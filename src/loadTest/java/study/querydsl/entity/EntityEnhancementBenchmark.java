@@ -0,0 +1,104 @@
+package study.querydsl.entity;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.Benchmark;
+
+import javax.persistence.EntityManager;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QMember.member;
+
+/**
+ * 큰 영속성 컨텍스트에서 엔티티당 메모리, flush 시간 측정 (gradle loadTest)
+ * 향상 전 값은 gradle loadTest -PhibernateEnhance=false --tests '*EntityEnhancementBenchmark'
+ * 향상 여부 확인은 단위 테스트 (EntityEnhancementTest)
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:enhance;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("loadtest")
+class EntityEnhancementBenchmark {
+
+    static final boolean ENHANCED = Boolean.parseBoolean(System.getProperty("hibernate.enhance", "true"));
+    static final int MEMBERS = Integer.getInteger("loadTest.enhance.members", 5_000);
+    static final int CHANGES_PER_FLUSH = 50;
+    static final int WARM_UP = 5;
+    static final int FLUSHES = 20;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    public void before() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Team team = new Team("enhanceTeam");
+            em.persist(team);
+            for (int i = 0; i < MEMBERS; i++) {
+                em.persist(new Member("enhance" + i, i % 100, team));
+                if (i % 500 == 0) {
+                    em.flush();
+                    em.clear();
+                    team = em.getReference(Team.class, team.getId());
+                }
+            }
+        });
+    }
+
+    @Test
+    public void memoryPerEntityAndFlushTime() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            System.gc();
+            long heapBefore = usedHeap();
+            long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+
+            List<Member> members = queryFactory
+                    .selectFrom(member)
+                    .where(member.username.startsWith("enhance"))
+                    .fetch();
+
+            long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+            System.gc();
+            long retained = usedHeap() - heapBefore;
+
+            int[] round = {0};
+            long flushNanos;
+            try {
+                flushNanos = Benchmark.median(WARM_UP, FLUSHES, () -> {
+                    int offset = round[0]++ * CHANGES_PER_FLUSH;
+                    for (int j = 0; j < CHANGES_PER_FLUSH; j++) {
+                        Member changed = members.get((offset + j) % members.size());
+                        changed.setAge(changed.getAge() + 1);
+                    }
+                    return Benchmark.nanos(em::flush);
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+
+            System.out.printf("enhanced=%s, %d entities: allocated %d B/entity, retained ~%d B/entity, flush (%d changed, median of %d) %d us%n",
+                    ENHANCED, members.size(), allocated / members.size(), retained / members.size(),
+                    CHANGES_PER_FLUSH, FLUSHES, flushNanos / 1_000);
+            assertThat(members).hasSize(MEMBERS);
+            status.setRollbackOnly();
+        });
+    }
+
+    private static long usedHeap() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
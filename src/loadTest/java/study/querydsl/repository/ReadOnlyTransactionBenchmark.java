@@ -0,0 +1,113 @@
+package study.querydsl.repository;
+
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.Benchmark;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 읽기 전용 트랜잭션과 쓰기 트랜잭션의 요청당 CPU 시간 비교 (gradle loadTest)
+ * 같은 조회를 쓰기 트랜잭션 안에서 실행하면 쿼리마다 auto flush, 커밋 시 더티 체킹
+ * CPU 시간은 장비, GC 에 따라 흔들림으로 출력만 - 검증은 벤치마크 크기에서 flush 생략, 스냅샷 없음
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:readonly;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("loadtest")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReadOnlyTransactionBenchmark {
+
+    static final int MEMBERS = Integer.getInteger("loadTest.readOnly.members", 2_000);
+    static final int WARM_UP = 20;
+    static final int ROUNDS = 50;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    MemberTestRepository memberTestRepository;
+
+    TransactionTemplate readWrite;
+    TransactionTemplate readOnly;
+
+    @BeforeAll
+    public void before() {
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        readWrite.executeWithoutResult(status -> {
+            Team team = new Team("readOnlyTeam");
+            em.persist(team);
+            for (int i = 0; i < MEMBERS; i++) {
+                em.persist(new Member("readOnly" + i, i % 100, team));
+            }
+        });
+    }
+
+    @Test
+    public void cpuPerRequest() throws Exception {
+        long readWriteNanos = cpuPerRequest(readWrite);
+        long readOnlyNanos = cpuPerRequest(readOnly);
+
+        System.out.printf("cpu per request (%d entities, median of %d): read-write %d us, read-only %d us%n",
+                MEMBERS / 2, ROUNDS, readWriteNanos / 1_000, readOnlyNanos / 1_000);
+    }
+
+    @Test
+    public void readOnlySkipsFlushAndSnapshots() {
+        readOnly.executeWithoutResult(status -> {
+            Session session = em.unwrap(Session.class);
+            assertThat(session.getHibernateFlushMode()).isEqualTo(FlushMode.MANUAL);
+            assertThat(session.isDefaultReadOnly()).isTrue();
+
+            List<Member> members = memberTestRepository.searchPageByApplyPage(condition(), PageRequest.of(0, MEMBERS / 2))
+                    .getContent();
+            assertThat(members).hasSize(MEMBERS / 2);
+            assertThat(members).allMatch(session::isReadOnly);
+        });
+    }
+
+    private long cpuPerRequest(TransactionTemplate template) throws Exception {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        return Benchmark.median(WARM_UP, ROUNDS, () -> {
+            long start = threads.getCurrentThreadCpuTime();
+            template.executeWithoutResult(status -> request());
+            return threads.getCurrentThreadCpuTime() - start;
+        });
+    }
+
+    // 엔티티 페이지 조회 후 DTO 페이지 조회 - 쓰기 트랜잭션이면 두번째 쿼리 전 flush, 커밋 시 더티 체킹
+    private void request() {
+        memberTestRepository.searchPageByApplyPage(condition(), PageRequest.of(0, MEMBERS / 2));
+        memberRepository.searchPageSimple(condition(), PageRequest.of(0, 20));
+    }
+
+    private MemberSearchCondition condition() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("readOnlyTeam");
+        return condition;
+    }
+}
@@ -0,0 +1,50 @@
+package study.querydsl.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.Test;
+import study.querydsl.Benchmark;
+import study.querydsl.dto.MemberTeamDto;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * json, cbor, batch 인코딩 시간, 크기 비교 (gradle loadTest)
+ * 시간은 출력만 (장비마다 다름), 실패 조건은 결정적인 인코딩 크기
+ */
+class MemberTeamBatchCodecBenchmark {
+
+    static final int ROWS = Integer.getInteger("loadTest.codec.rows", 10_000);
+    static final int WARM_UP = 200;
+    static final int ROUNDS = 100;
+
+    MemberTeamBatchCodec codec = new MemberTeamBatchCodec();
+    ObjectMapper json = new ObjectMapper();
+    ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+
+    @Test
+    public void encodeTime() throws Exception {
+        List<MemberTeamDto> rows = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new MemberTeamDto((long) i, "member" + i, i % 100, (long) (i % 10), "team" + (i % 10)));
+        }
+
+        long jsonNanos = Benchmark.median(WARM_UP, ROUNDS, () -> Benchmark.nanos(() -> json.writeValueAsBytes(rows)));
+        long cborNanos = Benchmark.median(WARM_UP, ROUNDS, () -> Benchmark.nanos(() -> cbor.writeValueAsBytes(rows)));
+        long batchNanos = Benchmark.median(WARM_UP, ROUNDS, () -> Benchmark.nanos(() -> codec.write(rows, new ByteArrayOutputStream())));
+
+        int jsonBytes = json.writeValueAsBytes(rows).length;
+        int cborBytes = cbor.writeValueAsBytes(rows).length;
+        ByteArrayOutputStream batch = new ByteArrayOutputStream();
+        codec.write(rows, batch);
+        int batchBytes = batch.size();
+
+        System.out.printf("encode %d rows (median of %d): json %d us / %d B, cbor %d us / %d B, batch %d us / %d B%n",
+                ROWS, ROUNDS, jsonNanos / 1_000, jsonBytes, cborNanos / 1_000, cborBytes, batchNanos / 1_000, batchBytes);
+        assertThat(batchBytes).as("batch bytes").isLessThan(cborBytes).isLessThan(jsonBytes / 2);
+    }
+}
@@ -1,11 +1,22 @@
 package study.querydsl;
 
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.H2Templates;
+import com.querydsl.sql.SQLQueryFactory;
+import com.querydsl.sql.spring.SpringConnectionProvider;
+import com.querydsl.sql.spring.SpringExceptionTranslator;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import study.querydsl.repository.support.ChangeLogWriter;
+import study.querydsl.repository.support.ChangeTracker;
+import study.querydsl.repository.support.InstrumentedJPAQueryFactory;
+import study.querydsl.repository.support.QueryProfiler;
+import study.querydsl.repository.support.TeamMemberCounter;
 
 import javax.persistence.EntityManager;
+import javax.sql.DataSource;
 
 @SpringBootApplication
 public class QuerydslApplication {
@@ -14,9 +25,18 @@ public class QuerydslApplication {
 		SpringApplication.run(QuerydslApplication.class, args);
 	}
 
-	// 스프링 빈으로 등록
+	// 스프링 빈으로 등록, 레퍼지토리는 모두 이 빈을 사용 (쿼리 마감 시간 등 공통 처리)
 	@Bean
-	JPAQueryFactory jpaQueryFactory(EntityManager em) {
-		return new JPAQueryFactory(em);
+	JPAQueryFactory jpaQueryFactory(EntityManager em, ChangeTracker changeTracker, QueryProfiler queryProfiler,
+									ChangeLogWriter changeLogWriter, TeamMemberCounter teamMemberCounter) {
+		return new InstrumentedJPAQueryFactory(em, changeTracker, queryProfiler, changeLogWriter, teamMemberCounter);
+	}
+
+	// querydsl-sql, JPA 트랜잭션의 커넥션을 그대로 사용
+	@Bean
+	SQLQueryFactory sqlQueryFactory(DataSource dataSource) {
+		Configuration configuration = new Configuration(new H2Templates());
+		configuration.setExceptionTranslator(new SpringExceptionTranslator());
+		return new SQLQueryFactory(configuration, new SpringConnectionProvider(dataSource));
 	}
 }
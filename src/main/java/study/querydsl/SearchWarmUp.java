@@ -0,0 +1,121 @@
+package study.querydsl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.repository.MemberJpaRepository;
+import study.querydsl.repository.MemberRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 배포 직후 검색 API 워밍업
+ * 대표 검색조건을 반복 실행 - hibernate 쿼리 플랜 캐시, Querydsl 식 생성 코드 JIT, 커넥션 풀 준비
+ *
+ * 웹 서버(WebServerStartStopLifecycle)보다 먼저 시작 - 워밍업이 끝나야 요청을 받고
+ * readiness 는 애플리케이션 시작(ApplicationReadyEvent) 이후에 ACCEPTING_TRAFFIC 으로 바뀜
+ * 데이터 초기화(InitMember, @PostConstruct) 이후에 실행
+ */
+@Slf4j
+@Component
+public class SearchWarmUp implements SmartLifecycle {
+
+    private final WarmUpProperties properties;
+    private final MemberJpaRepository memberJpaRepository;
+    private final MemberRepository memberRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private volatile boolean running;
+    private volatile long durationMillis = -1;
+
+    public SearchWarmUp(WarmUpProperties properties, MemberJpaRepository memberJpaRepository,
+                        MemberRepository memberRepository, PlatformTransactionManager transactionManager,
+                        MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.memberJpaRepository = memberJpaRepository;
+        this.memberRepository = memberRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void start() {
+        if (properties.isEnabled()) {
+            warmUp();
+        }
+        running = true;
+    }
+
+    private void warmUp() {
+        List<MemberSearchCondition> conditions = new ArrayList<>(properties.getConditions());
+        if (conditions.isEmpty()) {
+            conditions.add(new MemberSearchCondition());
+        }
+
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(properties.getParallelism());
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < properties.getIterations(); i++) {
+                for (MemberSearchCondition condition : conditions) {
+                    futures.add(executor.submit(() -> search(condition)));
+                }
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (Exception e) {
+            // 워밍업 실패로 애플리케이션이 뜨지 않으면 안됨
+            log.warn("search warm-up failed", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long elapsed = System.nanoTime() - start;
+        durationMillis = TimeUnit.NANOSECONDS.toMillis(elapsed);
+        meterRegistry.timer("querydsl.warmup").record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("search warm-up {} conditions x {} iterations in {} ms",
+                conditions.size(), properties.getIterations(), durationMillis);
+    }
+
+    private void search(MemberSearchCondition condition) {
+        PageRequest pageRequest = PageRequest.of(0, properties.getPageSize());
+        transactionTemplate.executeWithoutResult(status -> {
+            memberJpaRepository.searchByWhereParam(condition);
+            memberRepository.searchPageSimple(condition, pageRequest);
+            memberRepository.searchPageComplex(condition, pageRequest);
+            memberRepository.searchSlice(condition, pageRequest);
+        });
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // 웹 서버 시작(Integer.MAX_VALUE - 1) 전
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE - 2;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+}
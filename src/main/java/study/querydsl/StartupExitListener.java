@@ -0,0 +1,26 @@
+package study.querydsl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * 기동 직후 종료 - CDS 아카이브 생성용 (gradle cdsArchive)
+ * 기동 중 로딩된 클래스가 JVM 종료 시 아카이브로 저장됨
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "querydsl.startup.exit-after-refresh", havingValue = "true")
+public class StartupExitListener implements ApplicationListener<ApplicationReadyEvent> {
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        log.info("started in {} ms (jvm uptime), exit", ManagementFactory.getRuntimeMXBean().getUptime());
+        System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+}
@@ -0,0 +1,30 @@
+package study.querydsl;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import study.querydsl.dto.MemberSearchCondition;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties("querydsl.warm-up")
+public class WarmUpProperties {
+
+    private boolean enabled = true;
+
+    // 조건별 반복 횟수 (JIT 컴파일 임계치를 넘기도록)
+    private int iterations = 20;
+
+    // 동시에 실행할 스레드 수 - 커넥션 풀의 여러 커넥션 사용
+    private int parallelism = 4;
+
+    private int pageSize = 20;
+
+    // 대표 검색조건
+    private List<MemberSearchCondition> conditions = new ArrayList<>();
+}
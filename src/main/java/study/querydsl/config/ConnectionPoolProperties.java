@@ -0,0 +1,38 @@
+package study.querydsl.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 커넥션 풀 크기 설정
+ * connections = (core_count * 2) + effective_spindle_count (HikariCP pool sizing)
+ * 동시 요청 수보다 커넥션이 많을 필요는 없음으로 expectedConcurrency 로 상한
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties("querydsl.pool")
+public class ConnectionPoolProperties {
+
+    // 직접 지정하면 계산하지 않음
+    private Integer maximumPoolSize;
+
+    // 동시에 DB 를 사용하는 요청 수, 0 이면 상한 없음
+    private int expectedConcurrency;
+
+    // 디스크 수 (데이터가 모두 메모리에 있으면 0)
+    private int effectiveSpindleCount = 1;
+
+    public int poolSize(int cores) {
+        if (maximumPoolSize != null) {
+            return maximumPoolSize;
+        }
+        int size = cores * 2 + effectiveSpindleCount;
+        if (expectedConcurrency > 0) {
+            size = Math.min(size, expectedConcurrency);
+        }
+        return Math.max(size, 1);
+    }
+}
@@ -0,0 +1,39 @@
+package study.querydsl.config;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import study.querydsl.repository.support.ChangeTrackingListener;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * hibernate 이벤트 리스너 등록
+ * lazy-initialization 이어도 기동 시 등록해야 함 (@Lazy(false))
+ */
+@Configuration
+@Lazy(false)
+public class HibernateListenerConfig {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ChangeTrackingListener changeTrackingListener;
+
+    public HibernateListenerConfig(EntityManagerFactory entityManagerFactory,
+                                   ChangeTrackingListener changeTrackingListener) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.changeTrackingListener = changeTrackingListener;
+    }
+
+    @PostConstruct
+    public void registerListeners() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, changeTrackingListener);
+        registry.appendListeners(EventType.POST_UPDATE, changeTrackingListener);
+        registry.appendListeners(EventType.POST_DELETE, changeTrackingListener);
+    }
+}
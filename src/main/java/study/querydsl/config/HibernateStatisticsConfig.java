@@ -0,0 +1,28 @@
+package study.querydsl.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.internal.StatisticsInitiator;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import study.querydsl.repository.support.QueryShapeStatistics;
+import study.querydsl.repository.support.ShapeStatistics;
+
+/**
+ * hibernate 통계를 ShapeStatistics 로 교체 (쿼리 모양별 집계)
+ * 기본은 꺼짐 - querydsl.hibernate-statistics.enabled 또는 POST /actuator/hibernatecontrol 로 켬 (control-enabled 일 때)
+ */
+@Configuration
+public class HibernateStatisticsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer shapeStatisticsCustomizer(QueryShapeStatistics shapes,
+                                                                  @Value("${querydsl.hibernate-statistics.enabled:false}") boolean enabled) {
+        return properties -> {
+            properties.put(StatisticsInitiator.STATS_BUILDER, (StatisticsFactory) sessionFactory -> new ShapeStatistics(sessionFactory, shapes));
+            properties.put(AvailableSettings.GENERATE_STATISTICS, enabled);
+        };
+    }
+}
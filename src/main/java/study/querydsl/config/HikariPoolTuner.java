@@ -0,0 +1,64 @@
+package study.querydsl.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * spring.datasource.hikari 바인딩 이후, 풀이 시작되기 전에 크기 지정
+ * 고정 크기 풀 (minimumIdle = maximumPoolSize) - 커넥션 생성 비용이 요청 중에 발생하지 않도록
+ * spring.datasource.hikari.maximum-pool-size, minimum-idle 을 직접 지정하면 그 값을 그대로 사용
+ *
+ * 풀 사용량은 actuator 메트릭으로 확인
+ * hikaricp.connections.active, idle, pending, hikaricp.connections.acquire(대기 시간)
+ */
+@Slf4j
+@Component
+public class HikariPoolTuner implements BeanPostProcessor, Ordered {
+
+    static final String HIKARI = "spring.datasource.hikari.";
+
+    private final ObjectProvider<ConnectionPoolProperties> properties;
+    private final Environment environment;
+
+    public HikariPoolTuner(ObjectProvider<ConnectionPoolProperties> properties, Environment environment) {
+        this.properties = properties;
+        this.environment = environment;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource) {
+            tune((HikariDataSource) bean);
+        }
+        return bean;
+    }
+
+    private void tune(HikariDataSource dataSource) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        if (!isSet("maximum-pool-size")) {
+            dataSource.setMaximumPoolSize(properties.getObject().poolSize(cores));
+        }
+        if (!isSet("minimum-idle")) {
+            dataSource.setMinimumIdle(dataSource.getMaximumPoolSize());
+        }
+        log.info("hikari pool [{}] size={}, minIdle={} (cores={})",
+                dataSource.getPoolName(), dataSource.getMaximumPoolSize(), dataSource.getMinimumIdle(), cores);
+    }
+
+    // relaxed binding (환경 변수 등) 포함
+    private boolean isSet(String property) {
+        return Binder.get(environment).bind(HIKARI + property, Integer.class).isBound();
+    }
+
+    // 다른 DataSource 데코레이터(p6spy)보다 먼저 실행
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
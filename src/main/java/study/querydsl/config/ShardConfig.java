@@ -0,0 +1,57 @@
+package study.querydsl.config;
+
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.H2Templates;
+import com.querydsl.sql.SQLQueryFactory;
+import com.querydsl.sql.spring.SpringConnectionProvider;
+import com.querydsl.sql.spring.SpringExceptionTranslator;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import study.querydsl.repository.MemberShard;
+import study.querydsl.repository.ShardedMemberRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 회원 샤딩 (querydsl.shards.enabled=true)
+ * 샤드마다 커넥션 풀, 트랜잭션 매니저, querydsl-sql 팩토리를 따로 만듬 (스프링 빈으로 등록하지 않음)
+ * 기본 DataSource, JPA 와는 별개
+ */
+@org.springframework.context.annotation.Configuration
+@ConditionalOnProperty(name = "querydsl.shards.enabled", havingValue = "true")
+public class ShardConfig {
+
+    @Bean(destroyMethod = "close")
+    public ShardedMemberRepository shardedMemberRepository(ShardProperties properties) {
+        List<MemberShard> shards = new ArrayList<>();
+        for (int i = 0; i < properties.getUrls().size(); i++) {
+            shards.add(createShard(i, properties));
+        }
+        return new ShardedMemberRepository(shards);
+    }
+
+    private MemberShard createShard(int index, ShardProperties properties) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("querydsl-shard-" + index);
+        dataSource.setJdbcUrl(properties.getUrls().get(index));
+        dataSource.setUsername(properties.getUsername());
+        dataSource.setPassword(properties.getPassword());
+        dataSource.setMaximumPoolSize(properties.getPoolSize());
+        dataSource.setConnectionTimeout(3000);
+
+        if (properties.isInitSchema()) {
+            DatabasePopulatorUtils.execute(new ResourceDatabasePopulator(new ClassPathResource("db/schema.sql")), dataSource);
+        }
+
+        Configuration configuration = new Configuration(new H2Templates());
+        configuration.setExceptionTranslator(new SpringExceptionTranslator());
+        SQLQueryFactory queryFactory = new SQLQueryFactory(configuration, new SpringConnectionProvider(dataSource));
+        return new MemberShard(index, dataSource, queryFactory, new DataSourceTransactionManager(dataSource));
+    }
+}
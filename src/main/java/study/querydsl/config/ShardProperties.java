@@ -0,0 +1,35 @@
+package study.querydsl.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 회원 샤드 DB 설정 (ShardConfig)
+ * 샤드 순서가 라우팅 키(team_id % 샤드 수)와 id 에 들어감으로 운영 중 순서, 개수 변경 불가
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties("querydsl.shards")
+public class ShardProperties {
+
+    private boolean enabled;
+
+    // 샤드 JDBC URL (순서 = 샤드 번호)
+    private List<String> urls = new ArrayList<>();
+
+    private String username = "sa";
+
+    private String password = "";
+
+    // 샤드별 커넥션 풀 크기
+    private int poolSize = 4;
+
+    // db/schema.sql 로 테이블 생성 (테스트, 로컬)
+    private boolean initSchema;
+}
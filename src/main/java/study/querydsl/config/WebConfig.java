@@ -0,0 +1,29 @@
+package study.querydsl.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import study.querydsl.web.MemberTeamBatchHttpMessageConverter;
+import study.querydsl.web.QueryDeadlineInterceptor;
+
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new QueryDeadlineInterceptor());
+    }
+
+    /**
+     * List<MemberTeamDto> 바이너리 응답 (Accept 로 선택)
+     * application/json (기본), application/cbor (jackson-dataformat-cbor), application/x-member-team-batch
+     * Accept 가 모든 타입을 허용하면 json 이 선택되도록 맨 뒤에 추가
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new MemberTeamBatchHttpMessageConverter());
+    }
+}
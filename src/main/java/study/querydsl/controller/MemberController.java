@@ -1,15 +1,25 @@
 package study.querydsl.controller;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import study.querydsl.dto.ChangeFeedResponse;
 import study.querydsl.dto.MemberDto;
 import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberSyncCondition;
+import study.querydsl.dto.MemberSyncResponse;
 import study.querydsl.dto.MemberTeamDto;
-import study.querydsl.repository.MemberJpaRepository;
+import study.querydsl.dto.PageResponse;
+import study.querydsl.repository.MemberChangeLogRepository;
 import study.querydsl.repository.MemberRepository;
+import study.querydsl.repository.MemberSearchCoalescer;
+import study.querydsl.repository.support.ChangeTracker;
+import study.querydsl.web.AsyncQueryExecutor;
+import study.querydsl.web.QueryTimeout;
 
 import java.util.List;
 
@@ -23,22 +33,83 @@ public class MemberController {
      * local: init()
      */
 
-    private final MemberJpaRepository memberJpaRepository;
+    // 이 offset 부터 deferred join 으로 조회
+    static final long DEFERRED_JOIN_OFFSET = 1_000;
+
     private final MemberRepository memberRepository;
+    private final MemberSearchCoalescer memberSearchCoalescer;
+    private final ChangeTracker changeTracker;
+    private final MemberChangeLogRepository memberChangeLogRepository;
+    private final AsyncQueryExecutor asyncQueryExecutor;
 
+    /**
+     * 동일 조건 동시 요청은 한 번만 조회 (MemberSearchCoalescer)
+     * ETag - member, team 변경 버전
+     * If-None-Match 가 같으면 조회 쿼리 없이 304 Not Modified
+     */
+    @QueryTimeout(3000)
     @GetMapping("/v1/member")
-    public List<MemberTeamDto> searchMemberV1(MemberSearchCondition condition) {
-        return memberJpaRepository.searchByWhereParam(condition);
+    public List<MemberTeamDto> searchMemberV1(MemberSearchCondition condition, WebRequest webRequest) {
+        long version = changeTracker.getVersion();
+        if (webRequest.checkNotModified(changeTracker.etag(version, condition))) {
+            return null;
+        }
+        return memberSearchCoalescer.search(condition, version);
     }
 
+    @QueryTimeout(3000)
     @GetMapping("/v2/members")
-    public Page<MemberTeamDto> searchMemberV2(MemberSearchCondition condition, Pageable pageable) {
-        return memberRepository.searchPageSimple(condition, pageable);
+    public PageResponse<MemberTeamDto> searchMemberV2(MemberSearchCondition condition, Pageable pageable, WebRequest webRequest) {
+        if (webRequest.checkNotModified(changeTracker.etag(condition, pageable))) {
+            return null;
+        }
+        return PageResponse.of(memberRepository.searchPageSimple(condition, pageable));
     }
 
+    @QueryTimeout(5000)
     @GetMapping("/v3/members")
-    public Page<MemberTeamDto> searchMemberV3(MemberSearchCondition condition, Pageable pageable) {
-        return memberRepository.searchPageComplex(condition, pageable);
+    public WebAsyncTask<PageResponse<MemberTeamDto>> searchMemberV3(MemberSearchCondition condition, Pageable pageable, WebRequest webRequest) {
+        if (webRequest.checkNotModified(changeTracker.etag(condition, pageable))) {
+            return null;
+        }
+        // 쿼리는 AsyncQueryExecutor 스레드에서 실행 - 마감 시간 초과 시 취소
+        // 뒤쪽 페이지는 offset 만큼 건너뛰는 행을 id 만으로 처리 (deferred join)
+        if (pageable.getOffset() >= DEFERRED_JOIN_OFFSET) {
+            return asyncQueryExecutor.withDeadline(() -> PageResponse.of(memberRepository.searchPageDeferred(condition, pageable)));
+        }
+        return asyncQueryExecutor.withDeadline(() -> PageResponse.of(memberRepository.searchPageComplex(condition, pageable)));
+    }
+
+    // count 쿼리 없는 slice (다음 페이지 여부만)
+    @QueryTimeout(3000)
+    @GetMapping("/v4/members")
+    public PageResponse<MemberTeamDto> searchMemberV4(MemberSearchCondition condition, Pageable pageable, WebRequest webRequest) {
+        if (webRequest.checkNotModified(changeTracker.etag(condition, pageable))) {
+            return null;
+        }
+        return PageResponse.of(memberRepository.searchSlice(condition, pageable));
+    }
+
+    /**
+     * 변경 기록 (outbox) - 목록을 다시 읽지 않고 after 이후 변경분만
+     * 응답의 lastSeq 를 다음 요청의 after 로, hasMore 면 바로 다시 요청
+     */
+    @QueryTimeout(3000)
+    @GetMapping("/v1/member/changes")
+    public ChangeFeedResponse memberChanges(@RequestParam(defaultValue = "0") long after,
+                                            @RequestParam(defaultValue = "100") int limit) {
+        return memberChangeLogRepository.findAfter(after, limit);
+    }
+
+    /**
+     * 증분 동기화 - modifiedSince 이후 수정된 회원만, (modifiedAt, id) keyset 페이징
+     * 응답의 lastModifiedAt, lastMemberId 를 다음 요청에 그대로, hasMore 면 바로 다시 요청
+     */
+    @QueryTimeout(3000)
+    @GetMapping("/v1/member/sync")
+    public MemberSyncResponse syncMembers(MemberSyncCondition condition,
+                                          @RequestParam(defaultValue = "100") int limit) {
+        return memberRepository.searchModifiedSince(condition, limit);
     }
 
 }
@@ -0,0 +1,35 @@
+package study.querydsl.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.MemberReactiveRepository;
+
+@RestController
+@RequiredArgsConstructor
+public class MemberReactiveController {
+    // r2dbc 조회 API
+    /**
+     * Flux, Mono 반환 - 요청 스레드를 붙잡지 않고 비동기로 응답
+     * ndjson: 조회되는 대로 한 줄씩 스트리밍
+     */
+
+    private final MemberReactiveRepository memberReactiveRepository;
+
+    @GetMapping(value = "/reactive/v1/members", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<MemberTeamDto> searchMemberV1(MemberSearchCondition condition) {
+        return memberReactiveRepository.search(condition);
+    }
+
+    @GetMapping("/reactive/v2/members")
+    public Mono<Page<MemberTeamDto>> searchMemberV2(MemberSearchCondition condition, Pageable pageable) {
+        return memberReactiveRepository.searchPage(condition, pageable);
+    }
+}
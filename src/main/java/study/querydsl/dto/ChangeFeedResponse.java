@@ -0,0 +1,23 @@
+package study.querydsl.dto;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 변경 기록 응답 - 다음 요청은 after=lastSeq
+ * 변경이 없으면 lastSeq 는 요청한 after 그대로
+ */
+@Getter
+public class ChangeFeedResponse {
+
+    private final List<MemberChangeDto> changes;
+    private final long lastSeq;
+    private final boolean hasMore;
+
+    public ChangeFeedResponse(List<MemberChangeDto> changes, long after, boolean hasMore) {
+        this.changes = changes;
+        this.lastSeq = changes.isEmpty() ? after : changes.get(changes.size() - 1).getSeq();
+        this.hasMore = hasMore;
+    }
+}
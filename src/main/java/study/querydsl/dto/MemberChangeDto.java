@@ -0,0 +1,27 @@
+package study.querydsl.dto;
+
+import com.querydsl.core.annotations.QueryProjection;
+import lombok.Data;
+import study.querydsl.entity.MemberChangeLog.ChangeType;
+import study.querydsl.entity.MemberChangeLog.EntityType;
+
+import java.time.LocalDateTime;
+
+@Data
+public class MemberChangeDto {
+
+    private Long seq;
+    private EntityType entityType;
+    private Long entityId; // 벌크 연산은 null
+    private ChangeType changeType;
+    private LocalDateTime changedAt;
+
+    @QueryProjection
+    public MemberChangeDto(Long seq, EntityType entityType, Long entityId, ChangeType changeType, LocalDateTime changedAt) {
+        this.seq = seq;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.changeType = changeType;
+        this.changedAt = changedAt;
+    }
+}
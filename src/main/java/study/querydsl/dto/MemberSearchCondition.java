@@ -1,14 +1,33 @@
 package study.querydsl.dto;
 
 import lombok.Data;
+import study.querydsl.predicate.Operator;
+import study.querydsl.predicate.PredicateSource;
+import study.querydsl.predicate.QueryPredicate;
 
+/**
+ * 조건 추가는 필드 + @QueryPredicate 만 - 컴파일 시 Predicate 클래스 생성 (predicate-processor)
+ * MemberSearchPredicates: JPA Q타입 (QMember, QTeam)
+ * MemberSearchSqlPredicates: querydsl-sql S타입 (SMember, STeam)
+ * 인덱스를 탈 수 있는 연산자만 지원 (Operator)
+ */
 @Data
+@PredicateSource(name = "MemberSearchPredicates",
+        aliases = {"study.querydsl.entity.QMember.member", "study.querydsl.entity.QTeam.team"},
+        joins = "team")
+@PredicateSource(name = "MemberSearchSqlPredicates",
+        aliases = {"study.querydsl.sql.SMember.member", "study.querydsl.sql.STeam.team"},
+        joins = "team")
 public class MemberSearchCondition {
     // 회원명, 팀명, 나이(ageGoe, ageLoe)
 
+    @QueryPredicate(path = "member.username")
     private String username;
+    @QueryPredicate(path = "team.name")
     private String teamName;
+    @QueryPredicate(path = "member.age", op = Operator.GOE)
     private Integer ageGoe;
+    @QueryPredicate(path = "member.age", op = Operator.LOE)
     private Integer ageLoe;
 
 }
@@ -0,0 +1,27 @@
+package study.querydsl.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * 증분 동기화 조건 - 검색 조건 + 워터마크
+ * modifiedSince: 이 시각 이후(포함) 수정된 회원만
+ * lastModifiedAt, lastMemberId: 이전 응답의 마지막 행 (modifiedAt, id) - keyset 커서
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class MemberSyncCondition extends MemberSearchCondition {
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime modifiedSince;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime lastModifiedAt;
+    private Long lastMemberId;
+
+}
@@ -0,0 +1,27 @@
+package study.querydsl.dto;
+
+import com.querydsl.core.annotations.QueryProjection;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class MemberSyncDto {
+
+    private Long memberId;
+    private String username;
+    private int age;
+    private Long teamId;
+    private String teamName;
+    private LocalDateTime modifiedAt;
+
+    @QueryProjection
+    public MemberSyncDto(Long memberId, String username, int age, Long teamId, String teamName, LocalDateTime modifiedAt) {
+        this.memberId = memberId;
+        this.username = username;
+        this.age = age;
+        this.teamId = teamId;
+        this.teamName = teamName;
+        this.modifiedAt = modifiedAt;
+    }
+}
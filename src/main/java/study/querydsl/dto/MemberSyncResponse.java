@@ -0,0 +1,32 @@
+package study.querydsl.dto;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 증분 동기화 응답 - 다음 요청은 lastModifiedAt, lastMemberId 를 그대로 전달
+ * 변경이 없으면 요청한 커서 그대로
+ */
+@Getter
+public class MemberSyncResponse {
+
+    private final List<MemberSyncDto> content;
+    private final LocalDateTime lastModifiedAt;
+    private final Long lastMemberId;
+    private final boolean hasMore;
+
+    public MemberSyncResponse(List<MemberSyncDto> content, MemberSyncCondition condition, boolean hasMore) {
+        this.content = content;
+        if (content.isEmpty()) {
+            this.lastModifiedAt = condition.getLastModifiedAt();
+            this.lastMemberId = condition.getLastMemberId();
+        } else {
+            MemberSyncDto last = content.get(content.size() - 1);
+            this.lastModifiedAt = last.getModifiedAt();
+            this.lastMemberId = last.getMemberId();
+        }
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,41 @@
+package study.querydsl.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * 페이지 응답 - PageImpl 직렬화(pageable, sort, 파생 필드) 대신 필요한 값만
+ * Slice 는 totalElements 없음 (count 쿼리 x)
+ */
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PageResponse<T> {
+
+    private final List<T> content;
+    private final int page;
+    private final int size;
+    private final boolean hasNext;
+    private final Integer nextPage;
+    private final Long totalElements;
+
+    private PageResponse(List<T> content, int page, int size, boolean hasNext, Long totalElements) {
+        this.content = content;
+        this.page = page;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.nextPage = hasNext ? page + 1 : null;
+        this.totalElements = totalElements;
+    }
+
+    public static <T> PageResponse<T> of(Page<T> page) {
+        return new PageResponse<>(page.getContent(), page.getNumber(), page.getSize(), page.hasNext(), page.getTotalElements());
+    }
+
+    public static <T> PageResponse<T> of(Slice<T> slice) {
+        return new PageResponse<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext(), null);
+    }
+}
@@ -0,0 +1,25 @@
+package study.querydsl.entity;
+
+import lombok.Getter;
+import org.hibernate.annotations.Generated;
+import org.hibernate.annotations.GenerationTime;
+
+import javax.persistence.Column;
+import javax.persistence.MappedSuperclass;
+import java.time.LocalDateTime;
+
+/**
+ * 마지막 수정 시각 - 증분 동기화(/v1/member/sync) 기준
+ * DB 가 insert 기본값, update 시 갱신 (엔티티 변경, 벌크 update, jdbc/r2dbc 직접 쓰기 모두)
+ * insert, update 후 hibernate 가 값을 다시 읽음 (@Generated)
+ * H2 의 current_timestamp 는 트랜잭션 시작 시각 - 한 트랜잭션의 변경은 모두 같은 값
+ */
+@MappedSuperclass
+@Getter
+public abstract class BaseTimeEntity {
+
+    @Generated(GenerationTime.ALWAYS)
+    @Column(name = "modified_at", insertable = false, updatable = false,
+            columnDefinition = "timestamp default current_timestamp on update current_timestamp not null")
+    private LocalDateTime modifiedAt;
+}
@@ -1,15 +1,23 @@
 package study.querydsl.entity;
 
 import lombok.*;
+import org.hibernate.Hibernate;
 
 import javax.persistence.*;
 
 @Entity
+// 정렬 인덱스 (MemberSort) - (정렬 컬럼, member_id) 로 tie-breaker 까지 인덱스 순서
+@Table(indexes = {
+        @Index(name = "idx_member_username", columnList = "username, member_id"),
+        @Index(name = "idx_member_age", columnList = "age, member_id"),
+        // 증분 동기화 keyset
+        @Index(name = "idx_member_modified_at", columnList = "modified_at, member_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "username", "age"})
-public class Member {
+public class Member extends BaseTimeEntity {
 
     @Id
     @GeneratedValue
@@ -20,6 +28,10 @@ public class Member {
 
     private int age;
 
+    // 낙관적 락 - 동시에 팀을 바꾸면 나중에 커밋하는 쪽이 실패 (MemberService 에서 재시도)
+    @Version
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "team_id")
     private Team team;
@@ -39,8 +51,25 @@ public class Member {
             changeTeam(team);
         }
     }
+
+    /**
+     * 팀 변경 - 연관관계 주인(team_id)만 바꿈
+     * 이미 로딩된 members 컬렉션만 맞춰주고, 로딩 안된 컬렉션(프록시 포함)은 건드리지 않음
+     * (건드리면 팀의 모든 회원을 조회함, 다음 조회 때 DB 에서 읽으면 반영되어 있음)
+     * 바이트코드 향상의 연관관계 관리는 끔 (build.gradle) - 향상 여부와 무관하게 같은 동작
+     */
     public void changeTeam(Team team) {
+        Team oldTeam = this.team;
         this.team = team;
-        team.getMembers().add(this);
+        if (oldTeam != null && isLoaded(oldTeam)) {
+            oldTeam.getMembers().remove(this);
+        }
+        if (team != null && isLoaded(team)) {
+            team.getMembers().add(this);
+        }
+    }
+
+    private static boolean isLoaded(Team team) {
+        return Hibernate.isInitialized(team) && Hibernate.isInitialized(team.getMembers());
     }
 }
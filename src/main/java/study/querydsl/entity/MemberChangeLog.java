@@ -0,0 +1,48 @@
+package study.querydsl.entity;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * member, team 변경 기록 (outbox) - 변경과 같은 트랜잭션에서 기록 (ChangeLogWriter)
+ * 하위 서비스는 seq 순서로 변경분만 읽음 (/v1/member/changes)
+ * 벌크 연산은 entityId 없이 BULK_UPDATE, BULK_DELETE - 해당 엔티티 전체를 다시 읽어야 함
+ */
+@Entity
+@Table(name = "member_change_log")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+public class MemberChangeLog {
+
+    public enum EntityType {
+        MEMBER, TEAM
+    }
+
+    public enum ChangeType {
+        INSERT, UPDATE, DELETE, BULK_UPDATE, BULK_DELETE
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long seq;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", length = 16, nullable = false)
+    private EntityType entityType;
+
+    @Column(name = "entity_id")
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", length = 16, nullable = false)
+    private ChangeType changeType;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+}
@@ -1,17 +1,21 @@
 package study.querydsl.entity;
 
 import lombok.*;
+import org.hibernate.annotations.LazyCollection;
+import org.hibernate.annotations.LazyCollectionOption;
+import org.hibernate.annotations.OptimisticLock;
 
 import javax.persistence.*;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Table(indexes = @Index(name = "idx_team_modified_at", columnList = "modified_at, team_id"))
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED) // 기본생성자 protected 까지 허용
 @ToString(of = {"id", "name"}) //본인이 소유한 필드만 할 것, 연관관계에 속한 것 -> 순환참조
-public class Team {
+public class Team extends BaseTimeEntity {
 
     @Id
     @GeneratedValue
@@ -20,6 +24,18 @@ public class Team {
 
     private String name;
 
+    @Version
+    private Long version;
+
+    // 소속 회원 수 - 엔티티로 읽고 쓰지 않고 update 쿼리로 증감 (TeamMemberCounter)
+    // 엔티티 update 에서 제외해야 오래된 값으로 덮어쓰지 않음
+    @Column(updatable = false)
+    private long memberCount;
+
+    // 회원이 팀을 옮겨도 팀 버전은 올리지 않음 (연관관계 주인은 Member)
+    // EXTRA - size(), contains() 는 컬렉션 전체 대신 count 쿼리
+    @OptimisticLock(excluded = true)
+    @LazyCollection(LazyCollectionOption.EXTRA)
     @OneToMany(mappedBy = "team")
     List<Member> members = new ArrayList<>();
 
@@ -0,0 +1,119 @@
+package study.querydsl.repository;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * id 단건 조회 묶음 처리 (micro-batching)
+ * 짧은 시간(WINDOW_MICROS) 동안 또는 MAX_BATCH_SIZE 만큼 모인 id 를 where member.id in (...) 한 번으로 조회
+ * 결과 엔티티는 준영속 상태 (team 은 페치 조인, team.members 는 사용 불가)
+ */
+@Component
+public class MemberBatchLoader {
+
+    private static final int MAX_BATCH_SIZE = 100;
+    private static final long WINDOW_MICROS = 2_000;
+
+    private final MemberJpaRepository memberJpaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "member-batch-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Queue<Request> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    public MemberBatchLoader(MemberJpaRepository memberJpaRepository, PlatformTransactionManager transactionManager) {
+        this.memberJpaRepository = memberJpaRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    public CompletableFuture<Optional<Member>> load(Long id) {
+        Request request = new Request(id);
+        queue.add(request);
+        if (pending.incrementAndGet() >= MAX_BATCH_SIZE) {
+            executor.execute(this::dispatch);
+        } else if (scheduled.compareAndSet(false, true)) {
+            executor.schedule(this::dispatch, WINDOW_MICROS, TimeUnit.MICROSECONDS);
+        }
+        return request.future;
+    }
+
+    // 단일 스레드에서만 실행
+    private void dispatch() {
+        scheduled.set(false);
+        List<Request> batch;
+        while (!(batch = drain()).isEmpty()) {
+            resolve(batch);
+        }
+    }
+
+    private List<Request> drain() {
+        List<Request> batch = new ArrayList<>();
+        Request request;
+        while (batch.size() < MAX_BATCH_SIZE && (request = queue.poll()) != null) {
+            batch.add(request);
+        }
+        pending.addAndGet(-batch.size());
+        return batch;
+    }
+
+    private void resolve(List<Request> batch) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Request request : batch) {
+            ids.add(request.id);
+        }
+        try {
+            Map<Long, Member> members = transactionTemplate.execute(status -> {
+                Map<Long, Member> result = new HashMap<>();
+                for (Member member : memberJpaRepository.findAllByIds(ids)) {
+                    result.put(member.getId(), member);
+                }
+                return result;
+            });
+            for (Request request : batch) {
+                request.future.complete(Optional.ofNullable(members.get(request.id)));
+            }
+        } catch (RuntimeException e) {
+            for (Request request : batch) {
+                request.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static class Request {
+        private final Long id;
+        private final CompletableFuture<Optional<Member>> future = new CompletableFuture<>();
+
+        Request(Long id) {
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package study.querydsl.repository;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.ChangeFeedResponse;
+import study.querydsl.dto.MemberChangeDto;
+import study.querydsl.dto.QMemberChangeDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static study.querydsl.entity.QMemberChangeLog.memberChangeLog;
+
+/**
+ * 변경 기록 조회 - seq 이후 limit 건
+ * seq 는 insert 시점에 정해짐으로 커밋 순서와 다를 수 있음 (긴 트랜잭션의 작은 seq 가 나중에 보임)
+ * 클라이언트는 최근 몇 초 구간은 겹쳐서 다시 읽고 seq 로 중복 제거
+ */
+@Repository
+@Transactional(readOnly = true)
+public class MemberChangeLogRepository {
+
+    public static final int MAX_LIMIT = 1_000;
+
+    private final JPAQueryFactory queryFactory;
+
+    public MemberChangeLogRepository(JPAQueryFactory queryFactory) {
+        this.queryFactory = queryFactory;
+    }
+
+    public ChangeFeedResponse findAfter(long after, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+        List<MemberChangeDto> changes = queryFactory
+                .select(new QMemberChangeDto(
+                        memberChangeLog.seq,
+                        memberChangeLog.entityType,
+                        memberChangeLog.entityId,
+                        memberChangeLog.changeType,
+                        memberChangeLog.changedAt))
+                .from(memberChangeLog)
+                .where(memberChangeLog.seq.gt(after))
+                .orderBy(memberChangeLog.seq.asc())
+                .limit(size + 1) // 한 건 더 조회해서 다음 여부 확인
+                .fetch();
+
+        boolean hasMore = changes.size() > size;
+        if (hasMore) {
+            changes = new ArrayList<>(changes.subList(0, size));
+        }
+        return new ChangeFeedResponse(changes, after, hasMore);
+    }
+}
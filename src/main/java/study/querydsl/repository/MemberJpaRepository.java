@@ -1,18 +1,23 @@
 package study.querydsl.repository;
 
 import com.querydsl.core.BooleanBuilder;
-import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import org.springframework.stereotype.Repository;
-import org.springframework.util.StringUtils;
+import org.springframework.transaction.annotation.Transactional;
 import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberSearchPredicates;
 import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.dto.QMemberTeamDto;
 import study.querydsl.entity.Member;
 import study.querydsl.entity.QMember;
+import study.querydsl.repository.support.QueryOptions;
+import study.querydsl.repository.support.QueryScope;
 
 import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,10 +26,15 @@ import static study.querydsl.entity.QTeam.*;
 import static org.springframework.util.StringUtils.hasText;
 
 @Repository //DAO
+@Transactional(readOnly = true) // 조회는 읽기 전용 (flush, 더티 체킹 생략)
+@QueryScope("memberJpa")
 public class MemberJpaRepository {
 
     // 순수 JPA Repository
 
+    // 오라클 등 in 절 파라미터 수 제한
+    public static final int IN_CLAUSE_LIMIT = 1000;
+
     private final EntityManager em;
     private final JPAQueryFactory queryFactory;
 
@@ -39,6 +49,7 @@ public class MemberJpaRepository {
         this.queryFactory = jpaQueryFactory;
     }
 
+    @Transactional
     public void save(Member member) {
         em.persist(member);
     }
@@ -48,6 +59,24 @@ public class MemberJpaRepository {
         return Optional.ofNullable(findMember);
     }
 
+    /**
+     * id 목록 조회 - in 절 파라미터 수 제한(IN_CLAUSE_LIMIT)으로 나눠서 조회
+     * team 은 페치 조인 (트랜잭션 밖에서 사용하는 MemberBatchLoader 결과)
+     */
+    public List<Member> findAllByIds(Collection<Long> ids) {
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<Member> result = new ArrayList<>(distinctIds.size());
+        for (int from = 0; from < distinctIds.size(); from += IN_CLAUSE_LIMIT) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + IN_CLAUSE_LIMIT, distinctIds.size()));
+            result.addAll(queryFactory
+                    .selectFrom(member)
+                    .leftJoin(member.team, team).fetchJoin()
+                    .where(member.id.in(chunk))
+                    .fetch());
+        }
+        return result;
+    }
+
     // 런타임 에러
     public List<Member> findAll() {
         return em.createQuery("select m from Member m", Member.class)
@@ -56,8 +85,8 @@ public class MemberJpaRepository {
 
     // 컴파일 에러
     public List<Member> findAll_QueryDsl() {
-        return queryFactory
-                .selectFrom(member)
+        return QueryOptions.EXPORT.applyTo(queryFactory
+                .selectFrom(member))
                 .fetch();
     }
 
@@ -108,7 +137,7 @@ public class MemberJpaRepository {
 
     // where절 파라미터
     public List<MemberTeamDto> searchByWhereParam(MemberSearchCondition condition) {
-        return queryFactory
+        return QueryOptions.LIST.applyTo(queryFactory
                 .select(new QMemberTeamDto(
                         member.id.as("memberId"),
                         member.username,
@@ -118,30 +147,10 @@ public class MemberJpaRepository {
                 ))
                 .from(member)
                 .leftJoin(member.team, team)
-                .where(usernameEq(condition.getUsername()),
-                        teamNameEq(condition.getTeamName()),
-                        ageGoe(condition.getAgeGoe()),
-                        ageLoe(condition.getAgeLoe()))
+                .where(MemberSearchPredicates.of(condition)))
                 .fetch();
     }
 
-    //Predicate 보다 querydsl BooleanExpression
-    private BooleanExpression usernameEq(String username) {
-        return hasText(username) ? member.username.eq(username) : null;
-    }
-
-    private BooleanExpression teamNameEq(String teamName) {
-        return hasText(teamName) ? team.name.eq(teamName) : null;
-    }
-
-    private BooleanExpression ageGoe(Integer ageGoe) {
-        return ageGoe != null ? member.age.goe(ageGoe) : null;
-    }
-
-    private Predicate ageLoe(Integer ageLoe) {
-        return ageLoe != null ? member.age.loe(ageLoe) : null;
-    }
-
     public List<Member> searchMember(MemberSearchCondition condition) {
         return queryFactory
                 .select(member)
@@ -152,7 +161,7 @@ public class MemberJpaRepository {
     }
 
     private BooleanExpression ageBetween(int ageLoe, int ageGoe) {
-        return ageGoe(ageLoe).and(ageGoe(ageGoe));
+        return MemberSearchPredicates.ageGoe(ageLoe).and(MemberSearchPredicates.ageGoe(ageGoe));
     }
 
 }
@@ -0,0 +1,120 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.H2Templates;
+import com.querydsl.sql.SQLBindings;
+import com.querydsl.sql.SQLQuery;
+import io.r2dbc.spi.Row;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberSearchSqlPredicates;
+import study.querydsl.dto.MemberTeamDto;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static study.querydsl.sql.SMember.member;
+import static study.querydsl.sql.STeam.team;
+
+/**
+ * r2dbc 논블로킹 조회 - MemberRepositoryCustom 과 같은 검색조건, 페이징 계약
+ * 커넥션을 잡고 스레드가 대기하지 않음
+ * SQL 은 querydsl-sql 로 만들고 (MemberSearchSqlPredicates) 실행만 r2dbc - 조건을 따로 작성하지 않음
+ */
+@Repository
+public class MemberReactiveRepository {
+
+    // 커넥션 없이 SQL 문자열, 바인딩 값만 만듬
+    private static final Configuration CONFIGURATION = new Configuration(new H2Templates());
+    private static final Pattern PARAMETER = Pattern.compile("\\?");
+
+    private final DatabaseClient databaseClient;
+
+    public MemberReactiveRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<MemberTeamDto> search(MemberSearchCondition condition) {
+        return execute(contentQuery(condition))
+                .map(this::toDto)
+                .all();
+    }
+
+    /**
+     * 마지막 페이지면 count 쿼리 생략 (PageableExecutionUtils.getPage 와 동일)
+     */
+    public Mono<Page<MemberTeamDto>> searchPage(MemberSearchCondition condition, Pageable pageable) {
+        SQLQuery<Tuple> query = contentQuery(condition)
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize());
+        return execute(query)
+                .map(this::toDto)
+                .all()
+                .collectList()
+                .flatMap(content -> {
+                    if (content.size() < pageable.getPageSize() && (pageable.getOffset() == 0 || !content.isEmpty())) {
+                        return Mono.just(new PageImpl<>(content, pageable, pageable.getOffset() + content.size()));
+                    }
+                    return count(condition).map(total -> new PageImpl<>(content, pageable, total));
+                });
+    }
+
+    // team 조건이 있을 때만 조인
+    public Mono<Long> count(MemberSearchCondition condition) {
+        SQLQuery<Long> query = new SQLQuery<Void>(CONFIGURATION)
+                .select(member.memberId.count())
+                .from(member);
+        if (MemberSearchSqlPredicates.joinsTeam(condition)) {
+            query.leftJoin(team).on(member.teamId.eq(team.teamId));
+        }
+        return execute(query.where(MemberSearchSqlPredicates.of(condition)))
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    private SQLQuery<Tuple> contentQuery(MemberSearchCondition condition) {
+        return new SQLQuery<Void>(CONFIGURATION)
+                .select(member.memberId, member.username, member.age, team.teamId, team.name)
+                .from(member)
+                .leftJoin(team).on(member.teamId.eq(team.teamId))
+                .where(MemberSearchSqlPredicates.of(condition))
+                .orderBy(member.memberId.asc());
+    }
+
+    // querydsl-sql 의 ? 를 이름 있는 파라미터로 바꿔서 DatabaseClient 에 바인딩
+    private GenericExecuteSpec execute(SQLQuery<?> query) {
+        SQLBindings bindings = query.getSQL();
+        Matcher matcher = PARAMETER.matcher(bindings.getSQL());
+        StringBuffer sql = new StringBuffer();
+        int index = 0;
+        while (matcher.find()) {
+            matcher.appendReplacement(sql, ":p" + index++);
+        }
+        matcher.appendTail(sql);
+
+        GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        List<Object> values = bindings.getNullFriendlyBindings();
+        for (int i = 0; i < values.size(); i++) {
+            spec = spec.bind("p" + i, values.get(i));
+        }
+        return spec;
+    }
+
+    private MemberTeamDto toDto(Row row) {
+        return new MemberTeamDto(
+                row.get(0, Long.class),
+                row.get(1, String.class),
+                row.get(2, Integer.class),
+                row.get(3, Long.class),
+                row.get(4, String.class));
+    }
+}
@@ -2,15 +2,30 @@ package study.querydsl.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.annotation.Transactional;
 import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberSyncCondition;
+import study.querydsl.dto.MemberSyncResponse;
 import study.querydsl.dto.MemberTeamDto;
 
 
 import java.util.List;
 
+/**
+ * 조회 전용 - 읽기 전용 트랜잭션 (FlushMode.MANUAL, 조회한 엔티티는 읽기 전용 - 스냅샷 없음, 더티 체킹 없음)
+ * 쓰기 트랜잭션 안에서 호출하면 바깥 트랜잭션에 참여 (auto flush 유지)
+ */
+@Transactional(readOnly = true)
 public interface MemberRepositoryCustom {
     List<MemberTeamDto> search(MemberSearchCondition condition);
     Page<MemberTeamDto> searchPageSimple(MemberSearchCondition condition, Pageable pageable);
     Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition, Pageable pageable);
+    // count 쿼리 없이 size + 1 건 조회로 다음 페이지 여부 판단
+    Slice<MemberTeamDto> searchSlice(MemberSearchCondition condition, Pageable pageable);
+    // deferred join - id 만 페이징 후 해당 id 의 DTO 조회 (offset 이 큰 페이지)
+    Page<MemberTeamDto> searchPageDeferred(MemberSearchCondition condition, Pageable pageable);
+    // 증분 동기화 - modifiedSince 이후 수정된 회원, (modifiedAt, id) keyset
+    MemberSyncResponse searchModifiedSince(MemberSyncCondition condition, int limit);
 
 }
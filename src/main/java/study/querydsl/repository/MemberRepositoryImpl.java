@@ -1,7 +1,7 @@
 package study.querydsl.repository;
 
 import com.querydsl.core.QueryResults;
-import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.JPQLQuery;
 import com.querydsl.jpa.impl.JPAQuery;
@@ -9,31 +9,44 @@ import com.querydsl.jpa.impl.JPAQueryFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.repository.support.QuerydslRepositorySupport;
 import org.springframework.data.support.PageableExecutionUtils;
 import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberSearchPredicates;
+import study.querydsl.dto.MemberSyncCondition;
+import study.querydsl.dto.MemberSyncDto;
+import study.querydsl.dto.MemberSyncResponse;
 import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.QMemberSyncDto;
 import study.querydsl.dto.QMemberTeamDto;
 import study.querydsl.entity.Member;
+import study.querydsl.repository.support.QueryOptions;
+import study.querydsl.repository.support.QueryScope;
 
 import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
-import static org.springframework.util.StringUtils.hasText;
 import static study.querydsl.entity.QMember.member;
 import static study.querydsl.entity.QTeam.team;
 
+@QueryScope("member")
 public class MemberRepositoryImpl extends QuerydslRepositorySupport implements MemberRepositoryCustom{
 
+    static final int MAX_SYNC_LIMIT = 1_000;
+
     private final JPAQueryFactory queryFactory;
 //    public MemberRepositoryImpl(EntityManager em) {
 //        this.queryFactory = new JPAQueryFactory(em);
 //    }
 
     // querydsl support
-    public MemberRepositoryImpl(EntityManager em) {
+    public MemberRepositoryImpl(JPAQueryFactory queryFactory) {
         super(Member.class);
-        this.queryFactory = new JPAQueryFactory(em);
+        this.queryFactory = queryFactory;
     }
 
     @Override
@@ -43,10 +56,7 @@ public class MemberRepositoryImpl extends QuerydslRepositorySupport implements M
         //querydsl support
         List<MemberTeamDto> result = from(member)
                 .leftJoin(member.team, team)
-                .where(usernameEq(condition.getUsername()),
-                        teamNameEq(condition.getTeamName()),
-                        ageGoe(condition.getAgeGoe()),
-                        ageLoe(condition.getAgeLoe()))
+                .where(MemberSearchPredicates.of(condition))
                 .select(new QMemberTeamDto(
                 member.id.as("memberId"),
                 member.username,
@@ -65,16 +75,13 @@ public class MemberRepositoryImpl extends QuerydslRepositorySupport implements M
                 ))
                 .from(member)
                 .leftJoin(member.team, team)
-                .where(usernameEq(condition.getUsername()),
-                        teamNameEq(condition.getTeamName()),
-                        ageGoe(condition.getAgeGoe()),
-                        ageLoe(condition.getAgeLoe()))
+                .where(MemberSearchPredicates.of(condition))
                 .fetch();
     }
 
     @Override
     public Page<MemberTeamDto> searchPageSimple(MemberSearchCondition condition, Pageable pageable) {
-        QueryResults<MemberTeamDto> result = queryFactory
+        QueryResults<MemberTeamDto> result = QueryOptions.LIST.applyTo(queryFactory
                 .select(new QMemberTeamDto(
                         member.id.as("memberId"),
                         member.username,
@@ -84,12 +91,10 @@ public class MemberRepositoryImpl extends QuerydslRepositorySupport implements M
                 ))
                 .from(member)
                 .leftJoin(member.team, team)
-                .where(usernameEq(condition.getUsername()),
-                        teamNameEq(condition.getTeamName()),
-                        ageGoe(condition.getAgeGoe()),
-                        ageLoe(condition.getAgeLoe()))
+                .where(MemberSearchPredicates.of(condition))
+                .orderBy(MemberSort.MAPPING.toOrderSpecifiers(pageable.getSort()))
                 .offset(pageable.getOffset())
-                .limit(pageable.getPageSize())
+                .limit(pageable.getPageSize()))
                 .fetchResults(); //count 쿼리도 함께 날림
 
         List<MemberTeamDto> content = result.getResults();
@@ -102,7 +107,7 @@ public class MemberRepositoryImpl extends QuerydslRepositorySupport implements M
     @Override
     public Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition, Pageable pageable) {
         //content
-        List<MemberTeamDto> content = queryFactory
+        List<MemberTeamDto> content = QueryOptions.LIST.applyTo(queryFactory
                 .select(new QMemberTeamDto(
                         member.id.as("memberId"),
                         member.username,
@@ -112,12 +117,10 @@ public class MemberRepositoryImpl extends QuerydslRepositorySupport implements M
                 ))
                 .from(member)
                 .leftJoin(member.team, team)
-                .where(usernameEq(condition.getUsername()),
-                        teamNameEq(condition.getTeamName()),
-                        ageGoe(condition.getAgeGoe()),
-                        ageLoe(condition.getAgeLoe()))
+                .where(MemberSearchPredicates.of(condition))
+                .orderBy(MemberSort.MAPPING.toOrderSpecifiers(pageable.getSort()))
                 .offset(pageable.getOffset())
-                .limit(pageable.getPageSize())
+                .limit(pageable.getPageSize()))
                 .fetch();
 
         // total count
@@ -126,10 +129,7 @@ public class MemberRepositoryImpl extends QuerydslRepositorySupport implements M
                 .select(member)
                 .from(member)
     //                .leftJoin(member.team, team)
-                .where(usernameEq(condition.getUsername()),
-                        teamNameEq(condition.getTeamName()),
-                        ageGoe(condition.getAgeGoe()),
-                        ageLoe(condition.getAgeLoe()))
+                .where(MemberSearchPredicates.of(condition))
                 .fetchCount();
 
     //        return new PageImpl<>(content, pageable, total); // Page 구현체 PageImpl
@@ -139,10 +139,7 @@ public class MemberRepositoryImpl extends QuerydslRepositorySupport implements M
                 .select(member)
                 .from(member)
                 .leftJoin(member.team, team)
-                .where(usernameEq(condition.getUsername()),
-                        teamNameEq(condition.getTeamName()),
-                        ageGoe(condition.getAgeGoe()),
-                        ageLoe(condition.getAgeLoe()));
+                .where(MemberSearchPredicates.of(condition));
 
         return PageableExecutionUtils.getPage(content, pageable, countQeury::fetchCount);
         /**
@@ -151,42 +148,142 @@ public class MemberRepositoryImpl extends QuerydslRepositorySupport implements M
          */
     }
 
-    public Page<MemberTeamDto> searchPageByQuerydslSupport(MemberSearchCondition condition, Pageable pageable) {
-        JPQLQuery<MemberTeamDto> jpaQuery = from(member)
+    @Override
+    public Slice<MemberTeamDto> searchSlice(MemberSearchCondition condition, Pageable pageable) {
+        List<MemberTeamDto> content = QueryOptions.LIST.applyTo(queryFactory
+                .select(new QMemberTeamDto(
+                        member.id.as("memberId"),
+                        member.username,
+                        member.age,
+                        team.id.as("teamId"),
+                        team.name.as("teamName")
+                ))
+                .from(member)
                 .leftJoin(member.team, team)
-                .where(
-                        usernameEq(condition.getUsername()),
-                        teamNameEq(condition.getTeamName()),
-                        ageGoe(condition.getAgeGoe()),
-                        ageLoe(condition.getAgeLoe())
-                )
+                .where(MemberSearchPredicates.of(condition))
+                .orderBy(MemberSort.MAPPING.toOrderSpecifiers(pageable.getSort()))
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize() + 1)) // 한 건 더 조회해서 다음 페이지 확인
+                .fetch();
+
+        return toSlice(content, pageable);
+    }
+
+    /**
+     * deferred join (late row lookup)
+     * 1. 조건, 정렬, offset, limit 을 id 만 조회하는 좁은 쿼리로 처리 - offset 만큼 건너뛰는 행이 인덱스 (정렬 컬럼, member_id) 에서 끝남
+     *    team 조건이 없으면 조인도 하지 않음
+     * 2. 페이지의 id 에 대해서만 team 조인, DTO 조회
+     */
+    @Override
+    public Page<MemberTeamDto> searchPageDeferred(MemberSearchCondition condition, Pageable pageable) {
+        OrderSpecifier<?>[] orders = MemberSort.MAPPING.toOrderSpecifiers(pageable.getSort());
+
+        List<Long> ids = QueryOptions.LIST.applyTo(idQuery(condition)
+                .orderBy(orders)
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize()))
+                .fetch();
+
+        List<MemberTeamDto> content = ids.isEmpty() ? new ArrayList<>() : QueryOptions.LIST.applyTo(queryFactory
                 .select(new QMemberTeamDto(
                         member.id.as("memberId"),
                         member.username,
                         member.age,
                         team.id.as("teamId"),
-                        team.name.as("teamName")));
+                        team.name.as("teamName")
+                ))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(member.id.in(ids))
+                .orderBy(orders))
+                .fetch();
 
-        getQuerydsl().applyPagination(pageable, jpaQuery); //offset, limit 처리
-        jpaQuery.fetchResults();
+        return PageableExecutionUtils.getPage(content, pageable, idQuery(condition)::fetchCount);
+    }
 
-        return null;
+    /**
+     * 증분 동기화 - 인덱스 (modified_at, member_id) 순서로 limit + 1 건
+     * 커서 이후: modifiedAt > lastModifiedAt or (modifiedAt = lastModifiedAt and id > lastMemberId)
+     * modifiedAt 은 DB 가 채우는 트랜잭션 시작 시각 - 긴 트랜잭션의 변경은 이미 지나간 커서 뒤에 보일 수 있음
+     * 클라이언트는 최근 몇 초 구간은 겹쳐서 다시 읽고 memberId 로 중복 제거 (MemberChangeLogRepository 와 동일)
+     * 팀 이름 변경은 회원의 modifiedAt 을 바꾸지 않음 - /v1/member/changes 의 TEAM 변경으로 확인
+     */
+    @Override
+    public MemberSyncResponse searchModifiedSince(MemberSyncCondition condition, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_SYNC_LIMIT));
+        List<MemberSyncDto> content = queryFactory
+                .select(new QMemberSyncDto(
+                        member.id.as("memberId"),
+                        member.username,
+                        member.age,
+                        team.id.as("teamId"),
+                        team.name.as("teamName"),
+                        member.modifiedAt))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(modifiedGoe(condition.getModifiedSince()),
+                        afterCursor(condition.getLastModifiedAt(), condition.getLastMemberId()))
+                .where(MemberSearchPredicates.of(condition))
+                .orderBy(member.modifiedAt.asc(), member.id.asc())
+                .limit(size + 1) // 한 건 더 조회해서 다음 여부 확인
+                .fetch();
+
+        boolean hasMore = content.size() > size;
+        if (hasMore) {
+            content = new ArrayList<>(content.subList(0, size));
+        }
+        return new MemberSyncResponse(content, condition, hasMore);
+    }
+
+    private BooleanExpression modifiedGoe(LocalDateTime modifiedSince) {
+        return modifiedSince != null ? member.modifiedAt.goe(modifiedSince) : null;
     }
 
-    private BooleanExpression usernameEq(String username) {
-        return hasText(username) ? member.username.eq(username) : null;
+    private BooleanExpression afterCursor(LocalDateTime lastModifiedAt, Long lastMemberId) {
+        if (lastModifiedAt == null) {
+            return null;
+        }
+        if (lastMemberId == null) {
+            return member.modifiedAt.gt(lastModifiedAt);
+        }
+        return member.modifiedAt.gt(lastModifiedAt)
+                .or(member.modifiedAt.eq(lastModifiedAt).and(member.id.gt(lastMemberId)));
     }
 
-    private BooleanExpression teamNameEq(String teamName) {
-        return hasText(teamName) ? team.name.eq(teamName) : null;
+    private JPAQuery<Long> idQuery(MemberSearchCondition condition) {
+        JPAQuery<Long> query = queryFactory
+                .select(member.id)
+                .from(member);
+        if (MemberSearchPredicates.joinsTeam(condition)) {
+            query.join(member.team, team);
+        }
+        return query.where(MemberSearchPredicates.of(condition));
     }
 
-    private BooleanExpression ageGoe(Integer ageGoe) {
-        return ageGoe != null ? member.age.goe(ageGoe) : null;
+    static <T> Slice<T> toSlice(List<T> content, Pageable pageable) {
+        boolean hasNext = content.size() > pageable.getPageSize();
+        if (hasNext) {
+            content = new ArrayList<>(content.subList(0, pageable.getPageSize()));
+        }
+        return new SliceImpl<>(content, pageable, hasNext);
     }
 
-    private Predicate ageLoe(Integer ageLoe) {
-        return ageLoe != null ? member.age.loe(ageLoe) : null;
+    public Page<MemberTeamDto> searchPageByQuerydslSupport(MemberSearchCondition condition, Pageable pageable) {
+        JPQLQuery<MemberTeamDto> jpaQuery = from(member)
+                .leftJoin(member.team, team)
+                .where(MemberSearchPredicates.of(condition))
+                .select(new QMemberTeamDto(
+                        member.id.as("memberId"),
+                        member.username,
+                        member.age,
+                        team.id.as("teamId"),
+                        team.name.as("teamName")));
+
+        getQuerydsl().applyPagination(pageable, jpaQuery); //offset, limit 처리
+        jpaQuery.fetchResults();
+
+        return null;
     }
 
 }
@@ -0,0 +1,42 @@
+package study.querydsl.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.support.SingleFlight;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 동일한 검색조건의 동시 요청을 하나의 쿼리로 합침
+ * 결과 목록은 여러 요청이 공유함으로 수정 불가
+ * 키에 ETag 를 계산한 ChangeTracker 버전 포함 - 같은 버전에서 시작한 조회에만 합류
+ * (커밋 전에 시작한 조회 결과가 커밋 후 버전의 ETag 로 나가면 다음 변경까지 304 로 고정됨)
+ */
+@Component
+public class MemberSearchCoalescer {
+
+    private static final int MAX_IN_FLIGHT_KEYS = 1_000;
+
+    private final MemberJpaRepository memberJpaRepository;
+    private final SingleFlight<SearchKey, List<MemberTeamDto>> search;
+
+    public MemberSearchCoalescer(MemberJpaRepository memberJpaRepository, MeterRegistry meterRegistry) {
+        this.memberJpaRepository = memberJpaRepository;
+        this.search = new SingleFlight<>("member.search", MAX_IN_FLIGHT_KEYS, meterRegistry);
+    }
+
+    public List<MemberTeamDto> search(MemberSearchCondition condition, long version) {
+        return search.execute(new SearchKey(condition, version),
+                () -> Collections.unmodifiableList(memberJpaRepository.searchByWhereParam(condition)));
+    }
+
+    @Value
+    static class SearchKey {
+        MemberSearchCondition condition;
+        long version;
+    }
+}
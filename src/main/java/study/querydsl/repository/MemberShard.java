@@ -0,0 +1,47 @@
+package study.querydsl.repository;
+
+import com.querydsl.sql.SQLQueryFactory;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Function;
+
+/**
+ * 회원 샤드 하나 - 자체 커넥션 풀과 트랜잭션
+ * SpringConnectionProvider 는 트랜잭션 안에서만 동작함으로 항상 read/write 로 실행
+ */
+public class MemberShard {
+
+    private final int index;
+    private final HikariDataSource dataSource;
+    private final SQLQueryFactory queryFactory;
+    private final TransactionTemplate writeTemplate;
+    private final TransactionTemplate readTemplate;
+
+    public MemberShard(int index, HikariDataSource dataSource, SQLQueryFactory queryFactory,
+                       PlatformTransactionManager transactionManager) {
+        this.index = index;
+        this.dataSource = dataSource;
+        this.queryFactory = queryFactory;
+        this.writeTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setReadOnly(true);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public <T> T read(Function<SQLQueryFactory, T> query) {
+        return readTemplate.execute(status -> query.apply(queryFactory));
+    }
+
+    public <T> T write(Function<SQLQueryFactory, T> command) {
+        return writeTemplate.execute(status -> command.apply(queryFactory));
+    }
+
+    void close() {
+        dataSource.close();
+    }
+}
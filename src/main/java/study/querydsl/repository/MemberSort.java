@@ -0,0 +1,22 @@
+package study.querydsl.repository;
+
+import study.querydsl.repository.support.SortMapping;
+
+import static study.querydsl.entity.QMember.member;
+
+/**
+ * 회원 목록 정렬 키 (sort=age,desc)
+ * 인덱스 idx_member_username(username, member_id), idx_member_age(age, member_id)
+ */
+public final class MemberSort {
+
+    public static final SortMapping MAPPING = SortMapping.builder()
+            .key("memberId", member.id)
+            .key("username", member.username)
+            .key("age", member.age)
+            .tieBreaker(member.id)
+            .build();
+
+    private MemberSort() {
+    }
+}
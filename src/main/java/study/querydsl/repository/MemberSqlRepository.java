@@ -0,0 +1,210 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.PathBuilder;
+import com.querydsl.sql.SQLQuery;
+import com.querydsl.sql.SQLQueryFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberSearchSqlPredicates;
+import study.querydsl.dto.MemberSyncCondition;
+import study.querydsl.dto.MemberSyncDto;
+import study.querydsl.dto.MemberSyncResponse;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.QMemberSyncDto;
+import study.querydsl.dto.QMemberTeamDto;
+import study.querydsl.repository.support.SortMapping;
+import study.querydsl.sql.SMember;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static study.querydsl.sql.SMember.member;
+import static study.querydsl.sql.STeam.team;
+
+/**
+ * querydsl-sql 로 작성한 MemberRepositoryCustom 구현 (JPQL 구현과 성능 비교용)
+ * 엔티티 매핑 없이 바로 DTO 로 조회, JPQL 로 안되는 limit 조인, union, 윈도우 함수 등도 작성 가능
+ * SpringConnectionProvider 를 사용하므로 트랜잭션 안에서만 동작
+ */
+@Repository
+@Transactional(readOnly = true)
+public class MemberSqlRepository implements MemberRepositoryCustom {
+
+    private static final SortMapping SORT = sortMapping(member);
+
+    private final SQLQueryFactory queryFactory;
+
+    public MemberSqlRepository(SQLQueryFactory queryFactory) {
+        this.queryFactory = queryFactory;
+    }
+
+    @Override
+    public List<MemberTeamDto> search(MemberSearchCondition condition) {
+        return contentQuery(condition)
+                .fetch();
+    }
+
+    @Override
+    public Page<MemberTeamDto> searchPageSimple(MemberSearchCondition condition, Pageable pageable) {
+        List<MemberTeamDto> content = contentQuery(condition)
+                .orderBy(SORT.toOrderSpecifiers(pageable.getSort()))
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .fetch();
+        long total = contentQuery(condition).fetchCount();
+
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    @Override
+    public Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition, Pageable pageable) {
+        List<MemberTeamDto> content = contentQuery(condition)
+                .orderBy(SORT.toOrderSpecifiers(pageable.getSort()))
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .fetch();
+
+        // team 조건이 있을 때만 조인
+        SQLQuery<Long> countQuery = queryFactory
+                .select(member.memberId)
+                .from(member);
+        if (MemberSearchSqlPredicates.joinsTeam(condition)) {
+            countQuery.leftJoin(team).on(member.teamId.eq(team.teamId));
+        }
+        countQuery.where(MemberSearchSqlPredicates.of(condition));
+
+        return PageableExecutionUtils.getPage(content, pageable, countQuery::fetchCount);
+    }
+
+    @Override
+    public Slice<MemberTeamDto> searchSlice(MemberSearchCondition condition, Pageable pageable) {
+        List<MemberTeamDto> content = contentQuery(condition)
+                .orderBy(SORT.toOrderSpecifiers(pageable.getSort()))
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize() + 1)
+                .fetch();
+
+        return MemberRepositoryImpl.toSlice(content, pageable);
+    }
+
+    /**
+     * deferred join - limit 을 적용한 id 서브쿼리(derived table)에 조인 (JPQL 은 from 절 서브쿼리가 안돼서 쿼리 두 번)
+     * select ... from (select member_id from member where ... order by ... limit ? offset ?) page
+     * join member page_member on page_member.member_id = page.member_id left join team ...
+     */
+    @Override
+    public Page<MemberTeamDto> searchPageDeferred(MemberSearchCondition condition, Pageable pageable) {
+        SMember pageMember = new SMember("page_member");
+        PathBuilder<Object> page = new PathBuilder<>(Object.class, "page");
+
+        SQLQuery<Long> ids = idQuery(condition)
+                .orderBy(SORT.toOrderSpecifiers(pageable.getSort()))
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize());
+
+        List<MemberTeamDto> content = queryFactory
+                .select(new QMemberTeamDto(
+                        pageMember.memberId,
+                        pageMember.username,
+                        pageMember.age,
+                        team.teamId,
+                        team.name))
+                .from(ids, page)
+                .join(pageMember).on(pageMember.memberId.eq(page.getNumber("member_id", Long.class)))
+                .leftJoin(team).on(pageMember.teamId.eq(team.teamId))
+                .orderBy(sortMapping(pageMember).toOrderSpecifiers(pageable.getSort()))
+                .fetch();
+
+        return PageableExecutionUtils.getPage(content, pageable, idQuery(condition)::fetchCount);
+    }
+
+    /**
+     * 증분 동기화 - MemberRepositoryImpl 과 같은 keyset
+     * 스키마 코드 생성은 timestamp 를 java.sql.Timestamp 로 만들어서 비교 값, 조회 타입 변환
+     */
+    @Override
+    public MemberSyncResponse searchModifiedSince(MemberSyncCondition condition, int limit) {
+        int size = Math.max(1, Math.min(limit, MemberRepositoryImpl.MAX_SYNC_LIMIT));
+        List<MemberSyncDto> content = queryFactory
+                .select(new QMemberSyncDto(
+                        member.memberId,
+                        member.username,
+                        member.age,
+                        team.teamId,
+                        team.name,
+                        Expressions.dateTimeTemplate(LocalDateTime.class, "{0}", member.modifiedAt)))
+                .from(member)
+                .leftJoin(team).on(member.teamId.eq(team.teamId))
+                .where(modifiedGoe(condition.getModifiedSince()),
+                        afterCursor(condition.getLastModifiedAt(), condition.getLastMemberId()))
+                .where(MemberSearchSqlPredicates.of(condition))
+                .orderBy(member.modifiedAt.asc(), member.memberId.asc())
+                .limit(size + 1)
+                .fetch();
+
+        boolean hasMore = content.size() > size;
+        if (hasMore) {
+            content = new ArrayList<>(content.subList(0, size));
+        }
+        return new MemberSyncResponse(content, condition, hasMore);
+    }
+
+    private BooleanExpression modifiedGoe(LocalDateTime modifiedSince) {
+        return modifiedSince != null ? member.modifiedAt.goe(Timestamp.valueOf(modifiedSince)) : null;
+    }
+
+    private BooleanExpression afterCursor(LocalDateTime lastModifiedAt, Long lastMemberId) {
+        if (lastModifiedAt == null) {
+            return null;
+        }
+        Timestamp last = Timestamp.valueOf(lastModifiedAt);
+        if (lastMemberId == null) {
+            return member.modifiedAt.gt(last);
+        }
+        return member.modifiedAt.gt(last)
+                .or(member.modifiedAt.eq(last).and(member.memberId.gt(lastMemberId)));
+    }
+
+    private SQLQuery<Long> idQuery(MemberSearchCondition condition) {
+        SQLQuery<Long> query = queryFactory
+                .select(member.memberId)
+                .from(member);
+        if (MemberSearchSqlPredicates.joinsTeam(condition)) {
+            query.join(team).on(member.teamId.eq(team.teamId));
+        }
+        return query.where(MemberSearchSqlPredicates.of(condition));
+    }
+
+    // MemberSort 와 같은 키
+    private static SortMapping sortMapping(SMember m) {
+        return SortMapping.builder()
+                .key("memberId", m.memberId)
+                .key("username", m.username)
+                .key("age", m.age)
+                .tieBreaker(m.memberId)
+                .build();
+    }
+
+    private SQLQuery<MemberTeamDto> contentQuery(MemberSearchCondition condition) {
+        return queryFactory
+                .select(new QMemberTeamDto(
+                        member.memberId,
+                        member.username,
+                        member.age,
+                        team.teamId,
+                        team.name))
+                .from(member)
+                .leftJoin(team).on(member.teamId.eq(team.teamId))
+                .where(MemberSearchSqlPredicates.of(condition));
+    }
+}
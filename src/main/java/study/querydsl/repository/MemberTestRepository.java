@@ -1,29 +1,32 @@
 package study.querydsl.repository;
 
-import com.querydsl.core.types.Predicate;
-import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.impl.JPAQuery;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberSearchPredicates;
 import study.querydsl.entity.Member;
+import study.querydsl.repository.support.QueryScope;
 import study.querydsl.repository.support.Querydsl4RepositorySupport;
+import study.querydsl.repository.support.QueryOptions;
 
 import java.util.List;
 
-import static org.springframework.util.StringUtils.hasText;
 import static study.querydsl.entity.QMember.*;
 import static study.querydsl.entity.QTeam.*;
 
 @Repository
+@Transactional(readOnly = true)
+@QueryScope("memberTest")
 public class MemberTestRepository extends Querydsl4RepositorySupport {
     public MemberTestRepository() {
-        super(Member.class);
+        super(Member.class, MemberSort.MAPPING);
     }
     public List<Member> basicSelect() {
-        return select(member)
+        return select(member, QueryOptions.EXPORT)
                 .from(member)
                 .fetch();
     }
@@ -35,13 +38,9 @@ public class MemberTestRepository extends Querydsl4RepositorySupport {
     public Page<Member> searchPageByApplyPage(MemberSearchCondition condition, Pageable pageable) {
         JPAQuery<Member> query= selectFrom(member)
                 .leftJoin(member.team, team)
-                .where(usernameEq(condition.getUsername()),
-                        teamNameEq(condition.getTeamName()),
-                        ageGoe(condition.getAgeGoe()),
-                        ageLoe(condition.getAgeLoe())
-                );
+                .where(MemberSearchPredicates.of(condition));
 
-        List<Member> content = getQuerydsl().applyPagination(pageable, query).fetch();
+        List<Member> content = applyPageable(pageable, query).fetch();
 
         return PageableExecutionUtils.getPage(content, pageable, query::fetchCount);
     }
@@ -50,11 +49,7 @@ public class MemberTestRepository extends Querydsl4RepositorySupport {
         return applyPagination(pageable, query -> query
                 .selectFrom(member)
                 .leftJoin(member.team, team)
-                .where(usernameEq(condition.getUsername()),
-                        teamNameEq(condition.getTeamName()),
-                        ageGoe(condition.getAgeGoe()),
-                        ageLoe(condition.getAgeLoe())
-                )
+                .where(MemberSearchPredicates.of(condition))
         );
     }
 
@@ -63,34 +58,11 @@ public class MemberTestRepository extends Querydsl4RepositorySupport {
         return applyPagination(pageable, contentQuery -> contentQuery
                 .selectFrom(member)
                 .leftJoin(member.team, team)
-                .where(usernameEq(condition.getUsername()),
-                        teamNameEq(condition.getTeamName()),
-                        ageGoe(condition.getAgeGoe()),
-                        ageLoe(condition.getAgeLoe())
-                ), countQuery -> countQuery
+                .where(MemberSearchPredicates.of(condition)), countQuery -> countQuery
                 .select(member.id)
                 .from(member)
                 .leftJoin(member.team, team)
-                .where(usernameEq(condition.getUsername()),
-                        teamNameEq(condition.getTeamName()),
-                        ageGoe(condition.getAgeGoe()),
-                        ageLoe(condition.getAgeLoe()))
+                .where(MemberSearchPredicates.of(condition))
         );
     }
-
-    private BooleanExpression usernameEq(String username) {
-        return hasText(username) ? member.username.eq(username) : null;
-    }
-
-    private BooleanExpression teamNameEq(String teamName) {
-        return hasText(teamName) ? team.name.eq(teamName) : null;
-    }
-
-    private BooleanExpression ageGoe(Integer ageGoe) {
-        return ageGoe != null ? member.age.goe(ageGoe) : null;
-    }
-
-    private Predicate ageLoe(Integer ageLoe) {
-        return ageLoe != null ? member.age.loe(ageLoe) : null;
-    }
 }
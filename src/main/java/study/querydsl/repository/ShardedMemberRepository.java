@@ -0,0 +1,275 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.sql.SQLExpressions;
+import com.querydsl.sql.SQLQuery;
+import com.querydsl.sql.SQLQueryFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.Assert;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberSearchSqlPredicates;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.QMemberTeamDto;
+import study.querydsl.repository.support.SortMapping;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static study.querydsl.sql.SMember.member;
+import static study.querydsl.sql.STeam.team;
+
+/**
+ * 샤딩된 회원 저장소 (querydsl-sql, ShardConfig)
+ * - 회원: team_id % 샤드 수 로 라우팅 (같은 팀 회원은 한 샤드), 팀이 없으면 임의 샤드
+ * - 회원 id = 샤드 시퀀스 * 샤드 수 + 샤드 번호 -> findById 는 id % 샤드 수 로 한 샤드만 조회
+ * - 팀: 모든 샤드에 복제 (작은 참조 테이블, 조인을 샤드 안에서 처리), id 는 0번 샤드 시퀀스
+ *   샤드별 트랜잭션으로 복제 - 분산 트랜잭션 아님
+ * - 검색: 모든 샤드에 병렬 실행 (scatter-gather)
+ *   페이징은 샤드마다 정렬된 offset + size 건을 가져와 k-way merge 후 offset 만큼 건너뜀
+ *   (offset 이 크면 샤드마다 그만큼 읽음 - 깊은 페이지는 slice, 검색 조건으로)
+ *
+ * 제약: 기본 DataSource(JPA)의 변경 추적과 연결되지 않음 - 샤드 실험용, 컨트롤러에서 사용하지 않음
+ * - save, saveTeam 은 ChangeTracker 버전을 올리지 않음 (ETag 304 는 기본 DB 조회 결과 기준)
+ * - member_change_log 를 쓰지 않음 - /v1/member/changes, /v1/member/sync 는 기본 DB 의 로그, 회원만 읽음
+ *   샤드 회원을 동기화 대상에 넣으려면 샤드별 로그와 이를 읽는 API 가 먼저 있어야 함
+ */
+public class ShardedMemberRepository {
+
+    private static final SortMapping SORT = SortMapping.builder()
+            .key("memberId", member.memberId)
+            .key("username", member.username)
+            .key("age", member.age)
+            .tieBreaker(member.memberId)
+            .build();
+
+    // SORT 와 같은 키, DB 정렬과 같은 순서 (H2: null 이 가장 작음)
+    private static final Map<String, Comparator<MemberTeamDto>> COMPARATORS = Map.<String, Comparator<MemberTeamDto>>of(
+            "memberId", Comparator.comparing(MemberTeamDto::getMemberId),
+            "username", Comparator.comparing(MemberTeamDto::getUsername, Comparator.nullsFirst(Comparator.naturalOrder())),
+            "age", Comparator.comparingInt(MemberTeamDto::getAge));
+
+    private final List<MemberShard> shards;
+    private final ExecutorService executor;
+
+    public ShardedMemberRepository(List<MemberShard> shards) {
+        Assert.notEmpty(shards, "At least one shard is required");
+        this.shards = List.copyOf(shards);
+        this.executor = Executors.newFixedThreadPool(shards.size() * 2);
+    }
+
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    public int shardOfTeam(Long teamId) {
+        return Math.floorMod(teamId, shards.size());
+    }
+
+    public int shardOfMember(Long memberId) {
+        return Math.floorMod(memberId, shards.size());
+    }
+
+    public Long saveTeam(String name) {
+        Long teamId = shards.get(0).write(this::nextValue);
+        for (MemberShard shard : shards) {
+            shard.write(queryFactory -> queryFactory
+                    .insert(team)
+                    .columns(team.teamId, team.name, team.version, team.memberCount)
+                    .values(teamId, name, 0L, 0L)
+                    .execute());
+        }
+        return teamId;
+    }
+
+    public Long save(String username, int age, Long teamId) {
+        MemberShard shard = shards.get(teamId != null
+                ? shardOfTeam(teamId)
+                : ThreadLocalRandom.current().nextInt(shards.size()));
+        return shard.write(queryFactory -> {
+            long memberId = nextValue(queryFactory) * shards.size() + shard.getIndex();
+            queryFactory
+                    .insert(member)
+                    .columns(member.memberId, member.username, member.age, member.teamId, member.version)
+                    .values(memberId, username, age, teamId, 0L)
+                    .execute();
+            // 팀 행은 모든 샤드에 복제, 회원은 팀의 샤드에만 저장 - 그 샤드의 팀 행만 증가
+            if (teamId != null) {
+                queryFactory
+                        .update(team)
+                        .set(team.memberCount, team.memberCount.add(1L))
+                        .where(team.teamId.eq(teamId))
+                        .execute();
+            }
+            return memberId;
+        });
+    }
+
+    public Optional<MemberTeamDto> findById(Long memberId) {
+        return Optional.ofNullable(shards.get(shardOfMember(memberId)).read(queryFactory -> contentQuery(queryFactory)
+                .where(member.memberId.eq(memberId))
+                .fetchOne()));
+    }
+
+    public List<MemberTeamDto> search(MemberSearchCondition condition) {
+        List<List<MemberTeamDto>> results = scatter(queryFactory -> contentQuery(queryFactory)
+                .where(MemberSearchSqlPredicates.of(condition))
+                .orderBy(member.memberId.asc())
+                .fetch());
+        return merge(results, comparator(Sort.unsorted()), 0, Integer.MAX_VALUE);
+    }
+
+    public Page<MemberTeamDto> searchPage(MemberSearchCondition condition, Pageable pageable) {
+        OrderSpecifier<?>[] orders = SORT.toOrderSpecifiers(pageable.getSort());
+        long perShardLimit = pageable.getOffset() + pageable.getPageSize();
+
+        // content, count 를 모든 샤드에 동시에
+        List<CompletableFuture<List<MemberTeamDto>>> content = submit(queryFactory -> contentQuery(queryFactory)
+                .where(MemberSearchSqlPredicates.of(condition))
+                .orderBy(orders)
+                .limit(perShardLimit)
+                .fetch());
+        List<CompletableFuture<Long>> counts = submit(queryFactory -> countQuery(queryFactory, condition).fetchCount());
+        long total = joinAll(counts).stream()
+                .mapToLong(Long::longValue)
+                .sum();
+
+        List<MemberTeamDto> page = merge(joinAll(content), comparator(pageable.getSort()),
+                pageable.getOffset(), pageable.getPageSize());
+        return new PageImpl<>(page, pageable, total);
+    }
+
+    /**
+     * 샤드별로 정렬된 목록을 합침 (k-way merge, 힙 크기 = 샤드 수)
+     */
+    static <T> List<T> merge(List<List<T>> sortedLists, Comparator<T> comparator, long skip, int limit) {
+        PriorityQueue<Cursor<T>> heap = new PriorityQueue<>((a, b) -> comparator.compare(a.current, b.current));
+        for (List<T> list : sortedLists) {
+            Cursor<T> cursor = new Cursor<>(list.iterator());
+            if (cursor.advance()) {
+                heap.add(cursor);
+            }
+        }
+
+        List<T> result = new ArrayList<>();
+        long index = 0;
+        while (!heap.isEmpty() && result.size() < limit) {
+            Cursor<T> cursor = heap.poll();
+            if (index++ >= skip) {
+                result.add(cursor.current);
+            }
+            if (cursor.advance()) {
+                heap.add(cursor);
+            }
+        }
+        return result;
+    }
+
+    private static Comparator<MemberTeamDto> comparator(Sort sort) {
+        Comparator<MemberTeamDto> result = null;
+        boolean ascending = true;
+        boolean tieBreakerIncluded = false;
+        for (Sort.Order order : sort) {
+            Comparator<MemberTeamDto> comparator = COMPARATORS.get(order.getProperty());
+            ascending = order.isAscending();
+            comparator = ascending ? comparator : comparator.reversed();
+            result = result == null ? comparator : result.thenComparing(comparator);
+            tieBreakerIncluded |= "memberId".equals(order.getProperty());
+        }
+        if (!tieBreakerIncluded) {
+            Comparator<MemberTeamDto> tieBreaker = COMPARATORS.get("memberId");
+            tieBreaker = ascending ? tieBreaker : tieBreaker.reversed();
+            result = result == null ? tieBreaker : result.thenComparing(tieBreaker);
+        }
+        return result;
+    }
+
+    private <T> List<T> scatter(Function<SQLQueryFactory, T> query) {
+        return joinAll(submit(query));
+    }
+
+    private <T> List<CompletableFuture<T>> submit(Function<SQLQueryFactory, T> query) {
+        return shards.stream()
+                .map(shard -> CompletableFuture.supplyAsync(() -> shard.read(query), executor))
+                .collect(Collectors.toList());
+    }
+
+    private static <T> List<T> joinAll(List<CompletableFuture<T>> futures) {
+        return futures.stream()
+                .map(ShardedMemberRepository::join)
+                .collect(Collectors.toList());
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private Long nextValue(SQLQueryFactory queryFactory) {
+        return queryFactory.select(SQLExpressions.nextval("hibernate_sequence")).fetchOne();
+    }
+
+    private SQLQuery<MemberTeamDto> contentQuery(SQLQueryFactory queryFactory) {
+        return queryFactory
+                .select(new QMemberTeamDto(
+                        member.memberId,
+                        member.username,
+                        member.age,
+                        team.teamId,
+                        team.name))
+                .from(member)
+                .leftJoin(team).on(member.teamId.eq(team.teamId));
+    }
+
+    private SQLQuery<Long> countQuery(SQLQueryFactory queryFactory, MemberSearchCondition condition) {
+        SQLQuery<Long> query = queryFactory
+                .select(member.memberId)
+                .from(member);
+        if (MemberSearchSqlPredicates.joinsTeam(condition)) {
+            query.join(team).on(member.teamId.eq(team.teamId));
+        }
+        return query.where(MemberSearchSqlPredicates.of(condition));
+    }
+
+    public void close() {
+        executor.shutdown();
+        shards.forEach(MemberShard::close);
+    }
+
+    private static class Cursor<T> {
+        private final Iterator<T> iterator;
+        private T current;
+
+        Cursor(Iterator<T> iterator) {
+            this.iterator = iterator;
+        }
+
+        boolean advance() {
+            if (!iterator.hasNext()) {
+                return false;
+            }
+            current = iterator.next();
+            return true;
+        }
+    }
+}
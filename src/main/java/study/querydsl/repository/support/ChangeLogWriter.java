@@ -0,0 +1,63 @@
+package study.querydsl.repository.support;
+
+import org.hibernate.Session;
+import org.springframework.stereotype.Component;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.MemberChangeLog.ChangeType;
+import study.querydsl.entity.MemberChangeLog.EntityType;
+import study.querydsl.entity.Team;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+
+/**
+ * member_change_log 기록 - 세션의 커넥션으로 바로 insert (같은 트랜잭션)
+ * flush 중(엔티티 이벤트)에는 em.persist 를 할 수 없음으로 JDBC 사용
+ */
+@Component
+public class ChangeLogWriter {
+
+    private static final String INSERT_SQL =
+            "insert into member_change_log (entity_type, entity_id, change_type, changed_at) values (?, ?, ?, ?)";
+
+    public void write(Session session, Object entity, Object id, ChangeType changeType) {
+        EntityType entityType = entityType(entity.getClass());
+        if (entityType != null) {
+            insert(session, entityType, (Long) id, changeType);
+        }
+    }
+
+    public void writeBulk(Session session, Class<?> entityClass, ChangeType changeType) {
+        EntityType entityType = entityType(entityClass);
+        if (entityType != null) {
+            insert(session, entityType, null, changeType);
+        }
+    }
+
+    private void insert(Session session, EntityType entityType, Long entityId, ChangeType changeType) {
+        session.doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+                statement.setString(1, entityType.name());
+                if (entityId != null) {
+                    statement.setLong(2, entityId);
+                } else {
+                    statement.setNull(2, Types.BIGINT);
+                }
+                statement.setString(3, changeType.name());
+                statement.setTimestamp(4, new Timestamp(System.currentTimeMillis()));
+                statement.executeUpdate();
+            }
+        });
+    }
+
+    private static EntityType entityType(Class<?> entityClass) {
+        if (Member.class.isAssignableFrom(entityClass)) {
+            return EntityType.MEMBER;
+        }
+        if (Team.class.isAssignableFrom(entityClass)) {
+            return EntityType.TEAM;
+        }
+        return null;
+    }
+}
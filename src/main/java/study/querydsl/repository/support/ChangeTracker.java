@@ -0,0 +1,64 @@
+package study.querydsl.repository.support;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.security.SecureRandom;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * member, team 변경 카운터 (버전)
+ * 커밋 이후에 증가 - 커밋 전 데이터에 새 버전이 붙지 않도록
+ * 엔티티 변경은 hibernate 이벤트 리스너, 벌크 연산은 InstrumentedJPAQueryFactory 에서 호출
+ * 애플리케이션(JVM) 단위 카운터 - 기동마다 0 부터, 인스턴스마다 다름
+ * 그래서 ETag 에 인스턴스 id(기동 시 난수)를 포함 - 다른 인스턴스가 발급한 ETag 는 일치하지 않음 (304 대신 200)
+ */
+@Component
+public class ChangeTracker {
+
+    private final String instanceId = Long.toHexString(new SecureRandom().nextLong());
+    private final AtomicLong version = new AtomicLong();
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * 조회 결과 ETag - 인스턴스 id + 버전 + 조회 조건
+     * 조회 전에 계산 (조회 중 커밋된 변경은 다음 요청에서 버전 불일치로 다시 조회됨)
+     * weak ETag (W/) - 톰캣은 strong ETag 응답을 압축하지 않음 (noCompressionStrongETag)
+     */
+    public String etag(Object... keys) {
+        return etag(getVersion(), keys);
+    }
+
+    // 버전을 먼저 읽어 조회에도 사용하는 경우 (MemberSearchCoalescer)
+    public String etag(long version, Object... keys) {
+        return "W/\"" + instanceId + "-" + Long.toHexString(version) + "-" + Integer.toHexString(Objects.hash(keys)) + "\"";
+    }
+
+    public void markChanged() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            version.incrementAndGet();
+            return;
+        }
+        // 트랜잭션 당 한 번만 등록
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                version.incrementAndGet();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ChangeTracker.this);
+            }
+        });
+    }
+}
@@ -0,0 +1,81 @@
+package study.querydsl.repository.support;
+
+import org.hibernate.Session;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.MemberChangeLog.ChangeType;
+import study.querydsl.entity.Team;
+
+/**
+ * member, team 엔티티 insert, update, delete 시 ChangeTracker 버전 증가, 변경 기록 (ChangeLogWriter)
+ * member insert, delete, 팀 변경 시 team.member_count 증감 (TeamMemberCounter)
+ * (벌크 연산은 영속성 컨텍스트를 거치지 않아 이벤트가 발생하지 않음 - InstrumentedJPAQueryFactory 에서 처리)
+ */
+@Component
+public class ChangeTrackingListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private final ChangeTracker changeTracker;
+    private final ChangeLogWriter changeLogWriter;
+    private final TeamMemberCounter teamMemberCounter;
+
+    public ChangeTrackingListener(ChangeTracker changeTracker, ChangeLogWriter changeLogWriter,
+                                  TeamMemberCounter teamMemberCounter) {
+        this.changeTracker = changeTracker;
+        this.changeLogWriter = changeLogWriter;
+        this.teamMemberCounter = teamMemberCounter;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        changed(event.getSession(), event.getEntity(), event.getId(), ChangeType.INSERT);
+        if (event.getEntity() instanceof Member) {
+            Long teamId = teamId(event.getPersister(), event.getState());
+            teamMemberCounter.move(event.getSession(), null, teamId, 1);
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        changed(event.getSession(), event.getEntity(), event.getId(), ChangeType.UPDATE);
+        // 이전 상태가 없으면 (detached 엔티티 update) 팀 변경을 알 수 없음
+        if (event.getEntity() instanceof Member && event.getOldState() != null) {
+            Long oldTeamId = teamId(event.getPersister(), event.getOldState());
+            Long newTeamId = teamId(event.getPersister(), event.getState());
+            teamMemberCounter.move(event.getSession(), oldTeamId, newTeamId, 1);
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        changed(event.getSession(), event.getEntity(), event.getId(), ChangeType.DELETE);
+        if (event.getEntity() instanceof Member) {
+            Long teamId = teamId(event.getPersister(), event.getDeletedState());
+            teamMemberCounter.move(event.getSession(), teamId, null, 1);
+        }
+    }
+
+    // Member.team (프록시여도 id 는 초기화 없이 읽음)
+    private static Long teamId(EntityPersister persister, Object[] state) {
+        Object team = state[persister.getEntityMetamodel().getPropertyIndex("team")];
+        return team == null ? null : ((Team) team).getId();
+    }
+
+    private void changed(Session session, Object entity, Object id, ChangeType changeType) {
+        if (entity instanceof Member || entity instanceof Team) {
+            changeTracker.markChanged();
+            changeLogWriter.write(session, entity, id, changeType);
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+}
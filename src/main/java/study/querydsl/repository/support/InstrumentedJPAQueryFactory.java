@@ -0,0 +1,205 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Constant;
+import com.querydsl.core.types.EntityPath;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.NullExpression;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.PathMetadata;
+import com.querydsl.core.types.PathMetadataFactory;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.core.types.dsl.Wildcard;
+import com.querydsl.jpa.impl.JPADeleteClause;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.querydsl.jpa.impl.JPAUpdateClause;
+import org.hibernate.Session;
+import org.hibernate.jpa.QueryHints;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.MemberChangeLog.ChangeType;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * JPAQueryFactory 로 만드는 모든 쿼리에 공통 처리 적용
+ * select, selectFrom, from 은 모두 query() 를 거침
+ * - QueryDeadline: 남은 시간을 javax.persistence.query.timeout 으로, 취소할 세션 등록
+ * - QueryProfiler: 쿼리 단계별 시간 (ProfiledJPAQuery, JFR 또는 타이머가 켜져 있을 때만)
+ * - update, delete 벌크 연산: 실행 후 ChangeTracker 버전 증가, BULK 변경 기록 (엔티티 이벤트가 발생하지 않음)
+ * - member 벌크 delete, 팀 변경 update: 같은 where 로 팀별 회원 수를 먼저 세고 그 팀의 team.member_count 만 증감
+ *   팀 변경은 상수(Team, null)만 지원 - 식(서브쿼리 등)이면 어느 팀으로 가는지 알 수 없음으로 UnsupportedOperationException
+ */
+public class InstrumentedJPAQueryFactory extends JPAQueryFactory {
+
+    private final EntityManager entityManager;
+    private final ChangeTracker changeTracker;
+    private final QueryProfiler queryProfiler;
+    private final ChangeLogWriter changeLogWriter;
+    private final TeamMemberCounter teamMemberCounter;
+
+    public InstrumentedJPAQueryFactory(EntityManager entityManager, ChangeTracker changeTracker,
+                                       QueryProfiler queryProfiler, ChangeLogWriter changeLogWriter,
+                                       TeamMemberCounter teamMemberCounter) {
+        super(entityManager);
+        this.entityManager = entityManager;
+        this.changeTracker = changeTracker;
+        this.queryProfiler = queryProfiler;
+        this.changeLogWriter = changeLogWriter;
+        this.teamMemberCounter = teamMemberCounter;
+    }
+
+    @Override
+    public JPAQuery<?> query() {
+        JPAQuery<?> query = queryProfiler.isEnabled()
+                ? new ProfiledJPAQuery<Void>(entityManager, queryProfiler)
+                : super.query();
+        QueryDeadline deadline = QueryDeadline.current();
+        if (deadline != null) {
+            query.setHint(QueryHints.SPEC_HINT_TIMEOUT, deadline.queryTimeoutMillis());
+            deadline.register(entityManager);
+        }
+        return query;
+    }
+
+    @Override
+    public JPAUpdateClause update(EntityPath<?> path) {
+        boolean isMember = Member.class.isAssignableFrom(path.getType());
+        PathMetadata teamPath = PathMetadataFactory.forProperty(path, "team");
+        return new JPAUpdateClause(entityManager, path) {
+            private final List<Predicate> where = new ArrayList<>();
+            private boolean teamChanged;
+            private Long toTeamId;
+
+            @Override
+            public JPAUpdateClause where(Predicate... o) {
+                where.addAll(Arrays.asList(o));
+                return super.where(o);
+            }
+
+            @Override
+            public <T> JPAUpdateClause set(Path<T> p, T value) {
+                team(p, value);
+                return super.set(p, value);
+            }
+
+            @Override
+            public <T> JPAUpdateClause set(Path<T> p, Expression<? extends T> expression) {
+                if (isTeam(p)) {
+                    if (expression instanceof Constant) {
+                        team(p, ((Constant<?>) expression).getConstant());
+                    } else if (expression == null || expression instanceof NullExpression) {
+                        team(p, null);
+                    } else {
+                        throw new UnsupportedOperationException("bulk update of member.team supports only a constant team or null");
+                    }
+                }
+                return super.set(p, expression);
+            }
+
+            @Override
+            public <T> JPAUpdateClause setNull(Path<T> p) {
+                team(p, null);
+                return super.setNull(p);
+            }
+
+            @Override
+            public JPAUpdateClause set(List<? extends Path<?>> paths, List<?> values) {
+                for (int i = 0; i < paths.size(); i++) {
+                    team(paths.get(i), values.get(i));
+                }
+                return super.set(paths, values);
+            }
+
+            @Override
+            public long execute() {
+                Map<Long, Long> before = teamChanged ? memberCountByTeam(path, where) : null;
+                long count = changed(super.execute(), path, ChangeType.BULK_UPDATE);
+                if (count > 0 && before != null) {
+                    Map<Long, Long> deltas = new TreeMap<>();
+                    before.forEach((teamId, n) -> {
+                        addDelta(deltas, teamId, -n);
+                        addDelta(deltas, toTeamId, n);
+                    });
+                    teamMemberCounter.add(entityManager.unwrap(Session.class), deltas);
+                }
+                return count;
+            }
+
+            private boolean isTeam(Path<?> p) {
+                return isMember && p.getMetadata().equals(teamPath);
+            }
+
+            private void team(Path<?> p, Object value) {
+                if (isTeam(p)) {
+                    teamChanged = true;
+                    toTeamId = value != null ? ((Team) value).getId() : null;
+                }
+            }
+        };
+    }
+
+    @Override
+    public JPADeleteClause delete(EntityPath<?> path) {
+        return new JPADeleteClause(entityManager, path) {
+            private final List<Predicate> where = new ArrayList<>();
+
+            @Override
+            public JPADeleteClause where(Predicate... o) {
+                where.addAll(Arrays.asList(o));
+                return super.where(o);
+            }
+
+            @Override
+            public long execute() {
+                Map<Long, Long> before = Member.class.isAssignableFrom(path.getType()) ? memberCountByTeam(path, where) : null;
+                long count = changed(super.execute(), path, ChangeType.BULK_DELETE);
+                if (count > 0 && before != null) {
+                    Map<Long, Long> deltas = new TreeMap<>();
+                    before.forEach((teamId, n) -> addDelta(deltas, teamId, -n));
+                    teamMemberCounter.add(entityManager.unwrap(Session.class), deltas);
+                }
+                return count;
+            }
+        };
+    }
+
+    // 벌크 연산 대상 회원의 팀별 수 (팀 없는 회원은 null 키)
+    private Map<Long, Long> memberCountByTeam(EntityPath<?> path, List<Predicate> where) {
+        NumberPath<Long> teamId = Expressions.numberPath(Long.class,
+                PathMetadataFactory.forProperty(Expressions.path(Team.class, path, "team"), "id"));
+        Map<Long, Long> counts = new HashMap<>();
+        for (Tuple row : query()
+                .select(teamId, Wildcard.count)
+                .from(path)
+                .where(where.toArray(new Predicate[0]))
+                .groupBy(teamId)
+                .fetch()) {
+            counts.put(row.get(teamId), row.get(Wildcard.count));
+        }
+        return counts;
+    }
+
+    private static void addDelta(Map<Long, Long> deltas, Long teamId, long delta) {
+        if (teamId != null) {
+            deltas.merge(teamId, delta, Long::sum);
+        }
+    }
+
+    private long changed(long count, EntityPath<?> path, ChangeType changeType) {
+        if (count > 0) {
+            changeTracker.markChanged();
+            changeLogWriter.writeBulk(entityManager.unwrap(Session.class), path.getType(), changeType);
+        }
+        return count;
+    }
+}
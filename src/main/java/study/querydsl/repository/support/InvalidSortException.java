@@ -0,0 +1,12 @@
+package study.querydsl.repository.support;
+
+/**
+ * 허용되지 않은 정렬 조건 (SortMapping) -> 400
+ * IllegalArgumentException 은 레퍼지토리 예외 변환에서 InvalidDataAccessApiUsageException 으로 바뀜으로 RuntimeException 상속
+ */
+public class InvalidSortException extends RuntimeException {
+
+    public InvalidSortException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,27 @@
+package study.querydsl.repository.support;
+
+import com.p6spy.engine.common.ResultSetInformation;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.JdbcEventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+
+/**
+ * p6spy 리스너 - JDBC 실행, ResultSet.next 시간을 현재 스레드에 누적 (QueryProfiler EXECUTE 단계)
+ * p6spy-spring-boot-starter 가 JdbcEventListener 빈을 등록
+ */
+@Component
+public class JdbcTimingListener extends JdbcEventListener {
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        QueryProfiler.addJdbcNanos(timeElapsedNanos);
+    }
+
+    @Override
+    public void onAfterResultSetNext(ResultSetInformation resultSetInformation, long timeElapsedNanos,
+                                     boolean hasNext, SQLException e) {
+        QueryProfiler.addJdbcNanos(timeElapsedNanos);
+    }
+}
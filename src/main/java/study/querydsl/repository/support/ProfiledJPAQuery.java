@@ -0,0 +1,94 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.core.QueryModifiers;
+import com.querydsl.core.QueryResults;
+import com.querydsl.jpa.JPQLSerializer;
+import com.querydsl.jpa.impl.JPAQuery;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 단계별 시간을 QueryProfiler 로 기록하는 JPAQuery (InstrumentedJPAQueryFactory 에서 생성)
+ * createQuery = SERIALIZE + TRANSLATE, fetch = createQuery + EXECUTE + MAP
+ */
+public class ProfiledJPAQuery<T> extends JPAQuery<T> {
+
+    private final QueryProfiler profiler;
+    private final String name;
+    private final long createdNanos = System.nanoTime();
+    private boolean built;
+    private long serializeNanos;
+    private long createQueryNanos;
+
+    public ProfiledJPAQuery(EntityManager em, QueryProfiler profiler) {
+        super(em);
+        this.profiler = profiler;
+        this.name = QueryProfiler.currentName();
+    }
+
+    @Override
+    protected JPQLSerializer serialize(boolean forCount) {
+        if (!built) {
+            built = true;
+            profiler.record(name, QueryProfiler.Phase.BUILD, System.nanoTime() - createdNanos);
+        }
+        long start = System.nanoTime();
+        try {
+            return super.serialize(forCount);
+        } finally {
+            serializeNanos += System.nanoTime() - start;
+        }
+    }
+
+    @Override
+    protected Query createQuery(QueryModifiers modifiers, boolean forCount) {
+        long serializeBefore = serializeNanos;
+        long start = System.nanoTime();
+        try {
+            return super.createQuery(modifiers, forCount);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            long serialize = serializeNanos - serializeBefore;
+            createQueryNanos += elapsed;
+            profiler.record(name, QueryProfiler.Phase.SERIALIZE, serialize);
+            profiler.record(name, QueryProfiler.Phase.TRANSLATE, elapsed - serialize);
+        }
+    }
+
+    @Override
+    public List<T> fetch() {
+        return profileFetch(super::fetch);
+    }
+
+    @Override
+    public T fetchOne() {
+        return profileFetch(super::fetchOne);
+    }
+
+    @Override
+    public QueryResults<T> fetchResults() {
+        return profileFetch(super::fetchResults);
+    }
+
+    @Override
+    public long fetchCount() {
+        return profileFetch(super::fetchCount);
+    }
+
+    private <R> R profileFetch(Supplier<R> fetch) {
+        long createQueryBefore = createQueryNanos;
+        long jdbcBefore = QueryProfiler.jdbcNanos();
+        long start = System.nanoTime();
+        try {
+            return fetch.get();
+        } finally {
+            long elapsed = System.nanoTime() - start - (createQueryNanos - createQueryBefore);
+            long jdbc = QueryProfiler.jdbcNanos() - jdbcBefore;
+            profiler.record(name, QueryProfiler.Phase.EXECUTE, jdbc);
+            profiler.record(name, QueryProfiler.Phase.MAP, Math.max(0, elapsed - jdbc));
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package study.querydsl.repository.support;
+
+import org.hibernate.Session;
+
+import javax.persistence.EntityManager;
+import javax.persistence.QueryTimeoutException;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 단위 쿼리 마감 시간
+ * 현재 스레드에 등록되어 있으면 JPAQueryFactory 로 만든 모든 쿼리에 남은 시간만큼 timeout 힌트 적용
+ * cancel() - 다른 스레드(비동기 요청 타임아웃)에서 실행 중인 쿼리를 취소 (Statement.cancel)
+ */
+public class QueryDeadline {
+
+    private static final ThreadLocal<QueryDeadline> CURRENT = new ThreadLocal<>();
+
+    private final long deadlineNanos;
+    private final Set<Session> sessions = ConcurrentHashMap.newKeySet();
+    private volatile boolean cancelled;
+
+    private QueryDeadline(long timeoutMillis) {
+        this.deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    }
+
+    public static QueryDeadline after(long timeoutMillis) {
+        return new QueryDeadline(timeoutMillis);
+    }
+
+    public static QueryDeadline current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public void bind() {
+        CURRENT.set(this);
+    }
+
+    // 다른 스레드(비동기 요청)에서 마감 시간을 이어서 적용
+    public <T> T call(Callable<T> body) throws Exception {
+        QueryDeadline previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return body.call();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    public long remainingMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+    }
+
+    /**
+     * 쿼리에 적용할 timeout(ms)
+     * hibernate 는 javax.persistence.query.timeout 을 초 단위로 내림 -> 1초 미만이 0(무제한)이 되지 않도록 올림
+     */
+    public int queryTimeoutMillis() {
+        long remaining = remainingMillis();
+        if (cancelled || remaining <= 0) {
+            throw new QueryTimeoutException("query deadline exceeded");
+        }
+        return (int) Math.min(Integer.MAX_VALUE, TimeUnit.SECONDS.toMillis((remaining + 999) / 1000));
+    }
+
+    // 쿼리를 실행할 세션 등록 - 취소 대상
+    public void register(EntityManager entityManager) {
+        Session session = entityManager.unwrap(Session.class);
+        sessions.add(session);
+        if (cancelled) {
+            session.cancelQuery();
+        }
+    }
+
+    public void cancel() {
+        cancelled = true;
+        for (Session session : sessions) {
+            if (session.isOpen()) {
+                session.cancelQuery();
+            }
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,50 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.jpa.impl.JPAQuery;
+import lombok.Builder;
+import lombok.Getter;
+import org.hibernate.jpa.QueryHints;
+
+/**
+ * 쿼리별 JDBC 힌트 - fetch size, timeout, read-only
+ * fetch size 가 없으면 드라이버 기본값 (왕복이 많거나 결과 전체를 드라이버가 버퍼링)
+ * read-only 로 조회한 엔티티는 스냅샷을 만들지 않고 변경 감지에서 제외됨
+ */
+@Getter
+@Builder
+public class QueryOptions {
+
+    // 목록 조회 - 한 화면, 수백 건 이내
+    public static final QueryOptions LIST = QueryOptions.builder()
+            .fetchSize(100)
+            .timeoutMillis(3_000)
+            .readOnly(true)
+            .build();
+
+    // 대량 조회(export) - 큰 fetch size 로 왕복 횟수를 줄이고 긴 timeout
+    public static final QueryOptions EXPORT = QueryOptions.builder()
+            .fetchSize(1_000)
+            .timeoutMillis(30_000)
+            .readOnly(true)
+            .build();
+
+    private final Integer fetchSize;
+    private final Integer timeoutMillis;
+    private final boolean readOnly;
+
+    public <T> JPAQuery<T> applyTo(JPAQuery<T> query) {
+        if (fetchSize != null) {
+            query.setHint(QueryHints.HINT_FETCH_SIZE, fetchSize);
+        }
+        if (timeoutMillis != null) {
+            // 요청 마감 시간이 더 짧으면 마감 시간 우선
+            QueryDeadline deadline = QueryDeadline.current();
+            int timeout = deadline != null ? Math.min(timeoutMillis, deadline.queryTimeoutMillis()) : timeoutMillis;
+            query.setHint(QueryHints.SPEC_HINT_TIMEOUT, timeout);
+        }
+        if (readOnly) {
+            query.setHint(QueryHints.HINT_READONLY, true);
+        }
+        return query;
+    }
+}
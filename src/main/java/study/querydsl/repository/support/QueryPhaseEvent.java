@@ -0,0 +1,31 @@
+package study.querydsl.repository.support;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR 이벤트 - 쿼리 단계별 소요 시간 (JMC 에서 Querydsl 카테고리로 조회)
+ * 단계 시간은 다른 단계를 빼서 계산하기도 함으로 begin/end 대신 elapsed 필드 사용
+ */
+@Name("study.querydsl.QueryPhase")
+@Label("Querydsl Query Phase")
+@Category("Querydsl")
+@Description("Time spent in one phase of a Querydsl JPA query")
+@StackTrace(false)
+class QueryPhaseEvent extends Event {
+
+    @Label("Query")
+    String query;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Elapsed")
+    @Timespan(Timespan.NANOSECONDS)
+    long elapsed;
+}
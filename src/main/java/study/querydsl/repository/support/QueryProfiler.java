@@ -0,0 +1,104 @@
+package study.querydsl.repository.support;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.EventType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 쿼리 단계별 시간 기록 (ProfiledJPAQuery)
+ * - BUILD: JPAQuery 생성부터 직렬화 전까지 (select, from, where 조건 생성)
+ * - SERIALIZE: Querydsl -> JPQL 문자열
+ * - TRANSLATE: em.createQuery (hibernate HQL 파싱, 쿼리 플랜 캐시)
+ * - EXECUTE: JDBC 실행, ResultSet.next (p6spy JdbcTimingListener)
+ * - MAP: 나머지 fetch 시간 (hibernate 결과 변환, DTO 생성)
+ *
+ * JFR 이벤트는 항상 기록 (JFR 실행 중일 때만 비용 발생)
+ * micrometer 타이머는 querydsl.profiling.timers=true 일 때만 (querydsl.query.phase)
+ */
+@Component
+public class QueryProfiler {
+
+    public enum Phase {
+        BUILD, SERIALIZE, TRANSLATE, EXECUTE, MAP
+    }
+
+    private static final String DEFAULT_NAME = "jpa";
+    private static final EventType EVENT_TYPE = EventType.getEventType(QueryPhaseEvent.class);
+    private static final ThreadLocal<String> CURRENT_NAME = new ThreadLocal<>();
+    private static final ThreadLocal<long[]> JDBC_NANOS = ThreadLocal.withInitial(() -> new long[1]);
+    private static final ThreadLocal<long[]> SCOPE_SEQUENCE = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final MeterRegistry meterRegistry;
+    private final boolean timersEnabled;
+
+    public QueryProfiler(MeterRegistry meterRegistry,
+                         @Value("${querydsl.profiling.timers:false}") boolean timersEnabled) {
+        this.meterRegistry = meterRegistry;
+        this.timersEnabled = timersEnabled;
+    }
+
+    /**
+     * 이 스레드에서 만드는 쿼리의 이름 (레퍼지토리 메서드)
+     * 이미 이름이 있으면 바깥쪽 이름 유지
+     */
+    public static Scope scope(String name) {
+        if (CURRENT_NAME.get() != null) {
+            return () -> { };
+        }
+        CURRENT_NAME.set(name);
+        SCOPE_SEQUENCE.get()[0]++;
+        return CURRENT_NAME::remove;
+    }
+
+    static String currentName() {
+        String name = CURRENT_NAME.get();
+        return name != null ? name : DEFAULT_NAME;
+    }
+
+    /**
+     * 이 스레드에서 바깥 scope 가 열린 횟수, scope 밖이면 -1
+     * scope 단위 샘플링 (QueryShapeStatistics) - 같은 값이면 같은 scope
+     */
+    static long scopeSequence() {
+        return CURRENT_NAME.get() != null ? SCOPE_SEQUENCE.get()[0] : -1;
+    }
+
+    static void addJdbcNanos(long nanos) {
+        JDBC_NANOS.get()[0] += nanos;
+    }
+
+    static long jdbcNanos() {
+        return JDBC_NANOS.get()[0];
+    }
+
+    public boolean isEnabled() {
+        return timersEnabled || EVENT_TYPE.isEnabled();
+    }
+
+    public void record(String query, Phase phase, long nanos) {
+        if (EVENT_TYPE.isEnabled()) {
+            QueryPhaseEvent event = new QueryPhaseEvent();
+            event.query = query;
+            event.phase = phase.name();
+            event.elapsed = nanos;
+            event.commit();
+        }
+        if (timersEnabled) {
+            Timer.builder("querydsl.query.phase")
+                    .tag("query", query)
+                    .tag("phase", phase.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry)
+                    .record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
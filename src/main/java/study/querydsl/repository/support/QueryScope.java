@@ -0,0 +1,17 @@
+package study.querydsl.repository.support;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 레퍼지토리의 public 메서드 실행을 QueryProfiler.scope('value.메서드명') 으로 감쌈 (QueryScopeAspect)
+ * 메서드 안에서 만드는 쿼리의 단계별 시간, hibernate 통계가 이 이름으로 기록됨
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryScope {
+
+    String value();
+}
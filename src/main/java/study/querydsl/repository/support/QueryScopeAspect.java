@@ -0,0 +1,25 @@
+package study.querydsl.repository.support;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * @QueryScope 가 붙은 레퍼지토리 메서드에 QueryProfiler.scope 적용
+ * 트랜잭션 프록시보다 먼저 실행 (@Order(0)) - 레퍼지토리의 @Transactional 커밋 시 flush 도 같은 scope
+ * 같은 객체 안의 호출(this.method())은 프록시를 거치지 않음 - 바깥 메서드 이름으로 기록
+ */
+@Aspect
+@Component
+@Order(0)
+public class QueryScopeAspect {
+
+    @Around(value = "@within(queryScope) && execution(public * *(..))", argNames = "joinPoint,queryScope")
+    public Object scope(ProceedingJoinPoint joinPoint, QueryScope queryScope) throws Throwable {
+        try (QueryProfiler.Scope scope = QueryProfiler.scope(queryScope.value() + "." + joinPoint.getSignature().getName())) {
+            return joinPoint.proceed();
+        }
+    }
+}
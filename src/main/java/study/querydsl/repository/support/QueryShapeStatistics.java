@@ -0,0 +1,226 @@
+package study.querydsl.repository.support;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * hibernate 통계를 레퍼지토리 메서드(QueryProfiler.scope 이름), 쿼리 모양(정규화한 HQL) 별로 집계
+ * ShapeStatistics 가 hibernate 통계 이벤트마다 호출
+ *
+ * 샘플링 - scope 단위로 sampleRate 확률만 집계 (scope 밖 이벤트는 이벤트 단위)
+ * 샘플링되지 않은 이벤트는 map 접근 없이 끝남, 집계 값은 샘플 기준 (전체 수는 hibernate Statistics)
+ * 쿼리 모양은 maxShapes 개까지, 넘치면 (other)
+ *
+ * flush 는 발생한 scope 에 집계 - 커밋 시 flush 는 트랜잭션을 시작한 곳의 scope
+ * 레퍼지토리 빈의 @Transactional 은 QueryScopeAspect 안쪽이라 같은 메서드에 집계
+ * 서비스나 Spring Data 프록시가 시작한 트랜잭션의 커밋 flush 는 scope 밖 ("jpa") - 그 메서드의 flushesPerSample 은 적게 나옴
+ */
+@Component
+public class QueryShapeStatistics {
+
+    static final String OTHER = "(other)";
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern PARAMETER = Pattern.compile("\\?\\d+|:\\w+|\\b\\d+\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\?(?:\\s*,\\s*\\?)+\\)");
+
+    // [scopeSequence, 샘플 여부]
+    private static final ThreadLocal<long[]> SAMPLED_SCOPE = ThreadLocal.withInitial(() -> new long[]{-1, 0});
+
+    private final ConcurrentMap<String, OperationStats> operations = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, QueryStats> queries = new ConcurrentHashMap<>();
+    private final int maxShapes;
+    private volatile double sampleRate;
+
+    public QueryShapeStatistics(@Value("${querydsl.hibernate-statistics.sample-rate:0.1}") double sampleRate,
+                                @Value("${querydsl.hibernate-statistics.max-shapes:500}") int maxShapes) {
+        this.sampleRate = sampleRate;
+        this.maxShapes = maxShapes;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = Math.max(0, Math.min(1, sampleRate));
+    }
+
+    /**
+     * 샘플링 대상이면 현재 레퍼지토리 메서드의 집계, 아니면 null
+     */
+    OperationStats sample() {
+        double rate = sampleRate;
+        if (rate <= 0) {
+            return null;
+        }
+        long sequence = QueryProfiler.scopeSequence();
+        boolean newSample;
+        if (sequence < 0) {
+            if (!hit(rate)) {
+                return null;
+            }
+            newSample = true;
+        } else {
+            long[] state = SAMPLED_SCOPE.get();
+            newSample = state[0] != sequence;
+            if (newSample) {
+                state[0] = sequence;
+                state[1] = hit(rate) ? 1 : 0;
+            }
+            if (state[1] == 0) {
+                return null;
+            }
+        }
+        OperationStats stats = shape(operations, QueryProfiler.currentName(), OperationStats::new);
+        if (newSample) {
+            stats.samples.increment();
+        }
+        return stats;
+    }
+
+    void queryExecuted(OperationStats operation, String hql, int rows, long millis) {
+        operation.queries.increment();
+        operation.queryMillis.add(millis);
+        QueryStats stats = shape(queries, normalize(hql), QueryStats::new);
+        stats.executions.increment();
+        stats.rows.add(rows);
+        stats.totalMillis.add(millis);
+        stats.maxMillis.accumulate(millis);
+        stats.operation = QueryProfiler.currentName();
+    }
+
+    public void clear() {
+        operations.clear();
+        queries.clear();
+    }
+
+    public Map<String, OperationSnapshot> operations() {
+        return operations.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> new OperationSnapshot(e.getValue()), (a, b) -> a, TreeMap::new));
+    }
+
+    // 총 실행 시간 순
+    public List<QuerySnapshot> queries(int limit) {
+        return queries.entrySet().stream()
+                .map(e -> new QuerySnapshot(e.getKey(), e.getValue()))
+                .sorted(Comparator.comparingLong(QuerySnapshot::getTotalMillis).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    static String normalize(String hql) {
+        String shape = WHITESPACE.matcher(hql.trim()).replaceAll(" ");
+        shape = STRING_LITERAL.matcher(shape).replaceAll("?");
+        shape = PARAMETER.matcher(shape).replaceAll("?");
+        return IN_LIST.matcher(shape).replaceAll("(?)");
+    }
+
+    private <T> T shape(ConcurrentMap<String, T> map, String key, Supplier<T> factory) {
+        T stats = map.get(key);
+        if (stats != null) {
+            return stats;
+        }
+        if (map.size() >= maxShapes) {
+            key = OTHER;
+        }
+        return map.computeIfAbsent(key, k -> factory.get());
+    }
+
+    private static boolean hit(double rate) {
+        return rate >= 1 || ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    static class OperationStats {
+        final LongAdder samples = new LongAdder();
+        final LongAdder queries = new LongAdder();
+        final LongAdder queryMillis = new LongAdder();
+        final LongAdder entityLoads = new LongAdder();
+        final LongAdder entityFetches = new LongAdder();
+        final LongAdder collectionLoads = new LongAdder();
+        final LongAdder collectionFetches = new LongAdder();
+        final LongAdder flushes = new LongAdder();
+        final LongAdder cacheHits = new LongAdder();
+        final LongAdder cacheMisses = new LongAdder();
+    }
+
+    static class QueryStats {
+        final LongAdder executions = new LongAdder();
+        final LongAdder rows = new LongAdder();
+        final LongAdder totalMillis = new LongAdder();
+        final LongAccumulator maxMillis = new LongAccumulator(Math::max, 0);
+        volatile String operation;
+    }
+
+    /**
+     * 레퍼지토리 메서드 한 번(샘플) 당 평균
+     */
+    @Getter
+    public static class OperationSnapshot {
+        private final long samples;
+        private final long queries;
+        private final double queriesPerSample;
+        private final double queryMillisPerSample;
+        private final double entityLoadsPerSample;
+        private final double entityFetchesPerSample;
+        private final double collectionLoadsPerSample;
+        private final double collectionFetchesPerSample;
+        private final double flushesPerSample;
+        private final long cacheHits;
+        private final long cacheMisses;
+
+        OperationSnapshot(OperationStats stats) {
+            this.samples = stats.samples.sum();
+            this.queries = stats.queries.sum();
+            this.queriesPerSample = perSample(queries);
+            this.queryMillisPerSample = perSample(stats.queryMillis.sum());
+            this.entityLoadsPerSample = perSample(stats.entityLoads.sum());
+            this.entityFetchesPerSample = perSample(stats.entityFetches.sum());
+            this.collectionLoadsPerSample = perSample(stats.collectionLoads.sum());
+            this.collectionFetchesPerSample = perSample(stats.collectionFetches.sum());
+            this.flushesPerSample = perSample(stats.flushes.sum());
+            this.cacheHits = stats.cacheHits.sum();
+            this.cacheMisses = stats.cacheMisses.sum();
+        }
+
+        private double perSample(long value) {
+            return samples == 0 ? 0 : (double) value / samples;
+        }
+    }
+
+    @Getter
+    public static class QuerySnapshot {
+        private final String shape;
+        private final String operation;
+        private final long executions;
+        private final long rows;
+        private final long totalMillis;
+        private final long maxMillis;
+        private final double avgMillis;
+
+        QuerySnapshot(String shape, QueryStats stats) {
+            this.shape = shape;
+            this.operation = stats.operation;
+            this.executions = stats.executions.sum();
+            this.rows = stats.rows.sum();
+            this.totalMillis = stats.totalMillis.sum();
+            this.maxMillis = stats.maxMillis.get();
+            this.avgMillis = executions == 0 ? 0 : (double) totalMillis / executions;
+        }
+    }
+}
@@ -31,14 +31,21 @@ import java.util.function.Function;
 @Repository
 public abstract class Querydsl4RepositorySupport {
     private final Class domainClass;
+    private final SortMapping sortMapping;
     private Querydsl querydsl;
     private EntityManager entityManager;
     private JPAQueryFactory queryFactory;
 
     public Querydsl4RepositorySupport(Class<?> domainClass) {
+        this(domainClass, SortMapping.NONE);
+    }
+
+    // 정렬은 sortMapping 에 등록된 키만 허용 (임의 컬럼 정렬 방지)
+    public Querydsl4RepositorySupport(Class<?> domainClass, SortMapping sortMapping) {
         Assert.notNull(domainClass, "Domain class must not be null!");
+        Assert.notNull(sortMapping, "SortMapping must not be null!");
         this.domainClass = domainClass;
-
+        this.sortMapping = sortMapping;
     }
 
     @Autowired
@@ -51,7 +58,13 @@ public abstract class Querydsl4RepositorySupport {
         this.entityManager = entityManager;
         this.querydsl = new Querydsl(entityManager, new
                 PathBuilder<>(path.getType(), path.getMetadata()));
-        this.queryFactory = new JPAQueryFactory(entityManager);
+    }
+
+    // 스프링 빈으로 등록된 JPAQueryFactory 사용 (쿼리 마감 시간 등 공통 처리)
+    @Autowired
+    public void setQueryFactory(JPAQueryFactory queryFactory) {
+        Assert.notNull(queryFactory, "QueryFactory must not be null!");
+        this.queryFactory = queryFactory;
     }
 
     @PostConstruct
@@ -81,10 +94,26 @@ public abstract class Querydsl4RepositorySupport {
         return getQueryFactory().selectFrom(from);
     }
 
+    protected <T> JPAQuery<T> select(Expression<T> expr, QueryOptions options) {
+        return options.applyTo(select(expr));
+    }
+
+    protected <T> JPAQuery<T> selectFrom(EntityPath<T> from, QueryOptions options) {
+        return options.applyTo(selectFrom(from));
+    }
+
+    // offset, limit, 정렬 (getQuerydsl().applyPagination 은 정렬 키를 그대로 경로로 사용함으로 SortMapping 사용)
+    protected <T> JPAQuery<T> applyPageable(Pageable pageable, JPAQuery<T> query) {
+        return query
+                .orderBy(sortMapping.toOrderSpecifiers(pageable.getSort()))
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize());
+    }
+
     protected <T> Page<T> applyPagination(Pageable pageable,
                                           Function<JPAQueryFactory, JPAQuery> contentQuery) {
-        JPAQuery jpaQuery = contentQuery.apply(getQueryFactory());
-        List<T> content = getQuerydsl().applyPagination(pageable, jpaQuery).fetch();
+        JPAQuery jpaQuery = QueryOptions.LIST.applyTo(contentQuery.apply(getQueryFactory()));
+        List<T> content = applyPageable(pageable, jpaQuery).fetch();
         return PageableExecutionUtils.getPage(content, pageable,
                 jpaQuery::fetchCount);
     }
@@ -92,10 +121,10 @@ public abstract class Querydsl4RepositorySupport {
     protected <T> Page<T> applyPagination(Pageable pageable,
                                           Function<JPAQueryFactory, JPAQuery> contentQuery, Function<JPAQueryFactory,
             JPAQuery> countQuery) {
-        JPAQuery jpaContentQuery = contentQuery.apply(getQueryFactory());
-        List<T> content = getQuerydsl().applyPagination(pageable, jpaContentQuery).fetch();
+        JPAQuery jpaContentQuery = QueryOptions.LIST.applyTo(contentQuery.apply(getQueryFactory()));
+        List<T> content = applyPageable(pageable, jpaContentQuery).fetch();
         JPAQuery countResult = countQuery.apply(getQueryFactory());
         return PageableExecutionUtils.getPage(content, pageable,
                 countResult::fetchCount);
     }
-}
\ No newline at end of file
+}
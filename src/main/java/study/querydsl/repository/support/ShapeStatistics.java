@@ -0,0 +1,111 @@
+package study.querydsl.repository.support;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.model.domain.NavigableRole;
+import org.hibernate.stat.internal.StatisticsImpl;
+
+/**
+ * hibernate 기본 통계 + QueryShapeStatistics 집계
+ * hibernate.generate_statistics 가 꺼져 있으면 hibernate 가 호출하지 않음 (비용 없음)
+ */
+public class ShapeStatistics extends StatisticsImpl {
+
+    private final QueryShapeStatistics shapes;
+
+    public ShapeStatistics(SessionFactoryImplementor sessionFactory, QueryShapeStatistics shapes) {
+        super(sessionFactory);
+        this.shapes = shapes;
+    }
+
+    @Override
+    public void queryExecuted(String hql, int rows, long time) {
+        super.queryExecuted(hql, rows, time);
+        QueryShapeStatistics.OperationStats operation = shapes.sample();
+        if (operation != null && hql != null) {
+            shapes.queryExecuted(operation, hql, rows, time);
+        }
+    }
+
+    @Override
+    public void loadEntity(String entityName) {
+        super.loadEntity(entityName);
+        QueryShapeStatistics.OperationStats operation = shapes.sample();
+        if (operation != null) {
+            operation.entityLoads.increment();
+        }
+    }
+
+    @Override
+    public void fetchEntity(String entityName) {
+        super.fetchEntity(entityName);
+        QueryShapeStatistics.OperationStats operation = shapes.sample();
+        if (operation != null) {
+            operation.entityFetches.increment();
+        }
+    }
+
+    @Override
+    public void loadCollection(String role) {
+        super.loadCollection(role);
+        QueryShapeStatistics.OperationStats operation = shapes.sample();
+        if (operation != null) {
+            operation.collectionLoads.increment();
+        }
+    }
+
+    @Override
+    public void fetchCollection(String role) {
+        super.fetchCollection(role);
+        QueryShapeStatistics.OperationStats operation = shapes.sample();
+        if (operation != null) {
+            operation.collectionFetches.increment();
+        }
+    }
+
+    @Override
+    public void flush() {
+        super.flush();
+        QueryShapeStatistics.OperationStats operation = shapes.sample();
+        if (operation != null) {
+            operation.flushes.increment();
+        }
+    }
+
+    @Override
+    public void entityCacheHit(NavigableRole entityName, String regionName) {
+        super.entityCacheHit(entityName, regionName);
+        cacheHit();
+    }
+
+    @Override
+    public void entityCacheMiss(NavigableRole entityName, String regionName) {
+        super.entityCacheMiss(entityName, regionName);
+        cacheMiss();
+    }
+
+    @Override
+    public void collectionCacheHit(NavigableRole collectionRole, String regionName) {
+        super.collectionCacheHit(collectionRole, regionName);
+        cacheHit();
+    }
+
+    @Override
+    public void collectionCacheMiss(NavigableRole collectionRole, String regionName) {
+        super.collectionCacheMiss(collectionRole, regionName);
+        cacheMiss();
+    }
+
+    private void cacheHit() {
+        QueryShapeStatistics.OperationStats operation = shapes.sample();
+        if (operation != null) {
+            operation.cacheHits.increment();
+        }
+    }
+
+    private void cacheMiss() {
+        QueryShapeStatistics.OperationStats operation = shapes.sample();
+        if (operation != null) {
+            operation.cacheMisses.increment();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package study.querydsl.repository.support;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import javax.persistence.QueryTimeoutException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키로 동시에 들어온 조회를 한 번만 실행하고 결과를 나눠줌 (single-flight)
+ * 먼저 들어온 요청이 실행, 나머지는 실행 중인 결과를 기다림 - 완료되면 키 제거 (캐시 x)
+ * 실행 중인 키가 maxKeys 이상이면 합치지 않고 바로 실행
+ * 기다리는 요청은 자신의 QueryDeadline 까지만 기다림, 먼저 실행한 요청이 마감 시간 초과로 실패하면 직접 실행
+ *
+ * 메트릭: singleflight.calls, singleflight.coalesced, singleflight.bypassed, singleflight.in-flight
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final int maxKeys;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder bypassed = new LongAdder();
+
+    public SingleFlight(String name, int maxKeys, MeterRegistry meterRegistry) {
+        this.maxKeys = maxKeys;
+        FunctionCounter.builder("singleflight.calls", calls, LongAdder::sum).tag("name", name).register(meterRegistry);
+        FunctionCounter.builder("singleflight.coalesced", coalesced, LongAdder::sum).tag("name", name).register(meterRegistry);
+        FunctionCounter.builder("singleflight.bypassed", bypassed, LongAdder::sum).tag("name", name).register(meterRegistry);
+        Gauge.builder("singleflight.in-flight", inFlight, ConcurrentHashMap::size).tag("name", name).register(meterRegistry);
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        calls.increment();
+        if (inFlight.size() >= maxKeys) {
+            bypassed.increment();
+            return loader.get();
+        }
+
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing, loader);
+        }
+
+        try {
+            V value = loader.get();
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private V await(CompletableFuture<V> future, Supplier<V> loader) {
+        QueryDeadline deadline = QueryDeadline.current();
+        try {
+            if (deadline == null) {
+                return future.get();
+            }
+            return future.get(Math.max(0, deadline.remainingMillis()), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new QueryTimeoutException("query deadline exceeded while waiting for in-flight query");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for in-flight query", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            // 먼저 실행한 요청의 마감 시간 초과 - 이 요청의 남은 시간으로 다시 실행
+            if (isTimeout(cause) && (deadline == null || deadline.remainingMillis() > 0)) {
+                return loader.get();
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private static boolean isTimeout(Throwable e) {
+        return e instanceof QueryTimeoutException || e instanceof org.springframework.dao.QueryTimeoutException;
+    }
+
+    public double getCoalescingRatio() {
+        long total = calls.sum();
+        return total == 0 ? 0 : (double) coalesced.sum() / total;
+    }
+}
@@ -0,0 +1,55 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.dsl.ComparableExpressionBase;
+import lombok.Builder;
+import lombok.Singular;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pageable 정렬 키 -> Querydsl OrderSpecifier
+ * - 등록된 키만 허용 (인덱스가 있는 컬럼), 그 외는 InvalidSortException
+ *   임의 컬럼 정렬은 테이블 전체를 정렬(filesort)함
+ * - 키 개수 제한 (maxKeys) - 인덱스는 (정렬 컬럼, id) 하나씩
+ * - 마지막에 유일한 tieBreaker(id) 추가 - 같은 값이 페이지 경계에 걸려도 순서가 고정
+ *   tieBreaker 방향은 마지막 정렬 방향과 같게 (인덱스 역방향 스캔)
+ * - ignoreCase, nulls first/last 는 무시 (컬럼에 함수가 걸려 인덱스를 못 씀)
+ */
+@Builder
+public class SortMapping {
+
+    // 정렬 허용 안함
+    public static final SortMapping NONE = SortMapping.builder().build();
+
+    @Singular
+    private final Map<String, ComparableExpressionBase<?>> keys;
+    private final ComparableExpressionBase<?> tieBreaker;
+    @Builder.Default
+    private final int maxKeys = 1;
+
+    public OrderSpecifier<?>[] toOrderSpecifiers(Sort sort) {
+        List<OrderSpecifier<?>> orders = new ArrayList<>();
+        boolean ascending = true;
+        boolean tieBreakerIncluded = false;
+        for (Sort.Order order : sort) {
+            ComparableExpressionBase<?> path = keys.get(order.getProperty());
+            if (path == null) {
+                throw new InvalidSortException("sort by '" + order.getProperty() + "' is not allowed, allowed: " + keys.keySet());
+            }
+            if (orders.size() >= maxKeys) {
+                throw new InvalidSortException("at most " + maxKeys + " sort key(s) allowed");
+            }
+            ascending = order.isAscending();
+            orders.add(ascending ? path.asc() : path.desc());
+            tieBreakerIncluded |= path.equals(tieBreaker);
+        }
+        if (tieBreaker != null && !tieBreakerIncluded) {
+            orders.add(ascending ? tieBreaker.asc() : tieBreaker.desc());
+        }
+        return orders.toArray(new OrderSpecifier<?>[0]);
+    }
+}
@@ -0,0 +1,64 @@
+package study.querydsl.repository.support;
+
+import org.hibernate.Session;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * team.member_count 증감 - 세션의 커넥션으로 바로 update (같은 트랜잭션, 롤백되면 같이 롤백)
+ * 팀 엔티티를 읽고 쓰지 않음으로 팀 버전 충돌이 없고, 행 락은 쿼리 실행 동안만 잡힘
+ * flush 중(엔티티 이벤트)에는 쿼리를 만들 수 없음으로 JDBC 사용
+ *
+ * 회원 insert, delete, 팀 변경은 ChangeTrackingListener, 회원 벌크 delete, 팀 변경 update 는 InstrumentedJPAQueryFactory 에서 호출
+ * 변경된 팀의 행만 update - 전체 재계산(team 전체 스캔, 전체 행 락)은 하지 않음
+ */
+@Component
+public class TeamMemberCounter {
+
+    private static final String ADD_SQL = "update team set member_count = member_count + ? where team_id = ?";
+
+    /**
+     * 회원 count 명이 fromTeamId 에서 toTeamId 로 이동 (insert 는 from 이 null, delete 는 to 가 null)
+     * 데드락 방지 - 항상 team_id 순서로 update
+     */
+    public void move(Session session, Long fromTeamId, Long toTeamId, long count) {
+        if (count == 0 || (fromTeamId != null && fromTeamId.equals(toTeamId))) {
+            return;
+        }
+        if (fromTeamId != null && toTeamId != null && toTeamId < fromTeamId) {
+            add(session, toTeamId, count);
+            add(session, fromTeamId, -count);
+            return;
+        }
+        if (fromTeamId != null) {
+            add(session, fromTeamId, -count);
+        }
+        if (toTeamId != null) {
+            add(session, toTeamId, count);
+        }
+    }
+
+    /**
+     * 여러 팀 증감 (벌크 연산) - 데드락 방지를 위해 team_id 순서로 update
+     */
+    public void add(Session session, Map<Long, Long> deltas) {
+        new TreeMap<>(deltas).forEach((teamId, delta) -> {
+            if (delta != 0) {
+                add(session, teamId, delta);
+            }
+        });
+    }
+
+    private void add(Session session, Long teamId, long delta) {
+        session.doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(ADD_SQL)) {
+                statement.setLong(1, delta);
+                statement.setLong(2, teamId);
+                statement.executeUpdate();
+            }
+        });
+    }
+}
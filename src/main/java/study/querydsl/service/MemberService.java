@@ -0,0 +1,110 @@
+package study.querydsl.service;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityNotFoundException;
+import javax.persistence.OptimisticLockException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static study.querydsl.entity.QMember.member;
+
+/**
+ * 회원 팀 변경
+ * - Team.members 컬렉션은 로딩하지 않음 (Member.changeTeam)
+ * - Member @Version 충돌 시 새 트랜잭션으로 재시도 (지수 백오프 + 지터)
+ * - Team.memberCount 는 TeamMemberCounter 가 update team set member_count = member_count + 1 로 증감
+ *   엔티티를 읽고 쓰지 않음으로 팀 버전 충돌이 없고, 행 락은 쿼리 실행 동안만 잡힘
+ */
+@Service
+public class MemberService {
+
+    static final int MAX_ATTEMPTS = 5;
+    private static final long BASE_BACKOFF_MILLIS = 5;
+    private static final long MAX_BACKOFF_MILLIS = 200;
+
+    private final EntityManager em;
+    private final JPAQueryFactory queryFactory;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter conflicts;
+
+    public MemberService(EntityManager em, JPAQueryFactory queryFactory,
+                         PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.em = em;
+        this.queryFactory = queryFactory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.conflicts = meterRegistry.counter("member.update.conflicts");
+    }
+
+    public void changeTeam(Long memberId, Long teamId) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> doChangeTeam(memberId, teamId));
+                return;
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                conflicts.increment();
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+                backoff(attempt);
+            }
+        }
+    }
+
+    private void doChangeTeam(Long memberId, Long teamId) {
+        Member findMember = em.find(Member.class, memberId);
+        if (findMember == null) {
+            throw new EntityNotFoundException("member " + memberId);
+        }
+        Team oldTeam = findMember.getTeam();
+        Long oldTeamId = oldTeam == null ? null : oldTeam.getId();
+        if (teamId.equals(oldTeamId)) {
+            return;
+        }
+
+        // 프록시 - 팀, 회원 컬렉션 모두 조회하지 않음
+        // memberCount 는 flush 시 ChangeTrackingListener 가 증감 (버전 검사를 통과한 update 이후)
+        findMember.changeTeam(em.getReference(Team.class, teamId));
+        em.flush();
+    }
+
+    /**
+     * 팀의 모든 회원을 다른 팀으로 이동 - update 쿼리 한번
+     * 회원 버전도 올려서 동시에 진행 중인 changeTeam 은 충돌로 재시도
+     * 벌크 연산은 영속성 컨텍스트를 거치지 않음으로 실행 전 flush, 실행 후 clear
+     */
+    public long moveMembers(Long fromTeamId, Long toTeamId) {
+        if (fromTeamId.equals(toTeamId)) {
+            return 0;
+        }
+        return transactionTemplate.execute(status -> {
+            em.flush();
+            long moved = queryFactory
+                    .update(member)
+                    .set(member.team, em.getReference(Team.class, toTeamId))
+                    .set(member.version, member.version.coalesce(0L).asNumber().add(1L))
+                    .where(member.team.id.eq(fromTeamId))
+                    .execute(); // team.member_count 는 InstrumentedJPAQueryFactory 가 증감
+            em.clear();
+            return moved;
+        });
+    }
+
+    private void backoff(int attempt) {
+        long cap = Math.min(MAX_BACKOFF_MILLIS, BASE_BACKOFF_MILLIS << attempt);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(cap + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while retrying member update", e);
+        }
+    }
+}
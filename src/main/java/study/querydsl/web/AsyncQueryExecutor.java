@@ -0,0 +1,91 @@
+package study.querydsl.web;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import study.querydsl.config.ConnectionPoolProperties;
+import study.querydsl.repository.support.QueryDeadline;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 비동기 조회(WebAsyncTask) 전용 실행기 - 커넥션 풀 크기만큼 스레드, 같은 크기의 대기열
+ * 스프링 기본 applicationTaskExecutor (코어 8, 무제한 대기열) 는 대기 중에 요청의 마감 시간을 다 써버림
+ * 스레드, 대기열이 모두 차면 바로 TaskRejectedException (503, QueryTimeoutExceptionHandler)
+ * 실행기는 빈으로 등록하지 않음 - Executor 빈이 있으면 applicationTaskExecutor 자동 설정이 꺼짐
+ */
+@Component
+public class AsyncQueryExecutor implements DisposableBean {
+
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    // 실행 중 + 대기 중인 요청 수, 요청이 끝나면(onCompletion) 반환
+    private final Semaphore permits;
+
+    @Autowired
+    public AsyncQueryExecutor(DataSource dataSource, ConnectionPoolProperties poolProperties) {
+        this(poolSize(dataSource, poolProperties), poolSize(dataSource, poolProperties));
+    }
+
+    AsyncQueryExecutor(int threads, int queueCapacity) {
+        executor.setThreadNamePrefix("async-query-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.initialize();
+        permits = new Semaphore(threads + queueCapacity);
+    }
+
+    /**
+     * 요청 스레드의 QueryDeadline 을 작업 스레드로 넘겨서 실행
+     * 마감 시간 초과 시 실행 중인 쿼리 취소 후 503
+     * 쿼리 중 클라이언트 연결 종료는 감지하지 않음 - 응답을 쓰기 전에는 톰캣이 async error 를 보내지 않음
+     */
+    public <T> WebAsyncTask<T> withDeadline(Callable<T> body) {
+        if (!permits.tryAcquire()) {
+            throw new TaskRejectedException("async query executor is full");
+        }
+        QueryDeadline deadline = QueryDeadline.current();
+        WebAsyncTask<T> task = new WebAsyncTask<>(deadline.remainingMillis(), executor, () -> deadline.call(body));
+        task.onTimeout(() -> {
+            deadline.cancel();
+            throw new AsyncRequestTimeoutException();
+        });
+        task.onError(() -> {
+            deadline.cancel();
+            return resultNone(); // 오류를 그대로 전달
+        });
+        task.onCompletion(permits::release);
+        return task;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T resultNone() {
+        return (T) CallableProcessingInterceptor.RESULT_NONE;
+    }
+
+    // 튜닝이 끝난 Hikari 풀 크기 (HikariPoolTuner), 없으면 계산 값
+    private static int poolSize(DataSource dataSource, ConnectionPoolProperties poolProperties) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            // 계산 값 사용
+        }
+        return poolProperties.poolSize(Runtime.getRuntime().availableProcessors());
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,46 @@
+package study.querydsl.web;
+
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import study.querydsl.repository.support.QueryShapeStatistics;
+
+import java.util.Map;
+
+/**
+ * POST /actuator/hibernatecontrol {"enabled": true, "sampleRate": 0.05, "clear": true} - 켜기/끄기, 샘플링 비율, 초기화
+ * 인증 없이 노출되므로 querydsl.hibernate-statistics.control-enabled=true 일 때만 등록
+ * management.endpoints.web.exposure.include 에도 hibernatecontrol 을 추가해야 함
+ */
+@Component
+@Endpoint(id = "hibernatecontrol")
+@ConditionalOnProperty(name = "querydsl.hibernate-statistics.control-enabled", havingValue = "true")
+public class HibernateStatisticsControlEndpoint {
+
+    private final HibernateStatisticsEndpoint statisticsEndpoint;
+    private final QueryShapeStatistics shapes;
+
+    public HibernateStatisticsControlEndpoint(HibernateStatisticsEndpoint statisticsEndpoint, QueryShapeStatistics shapes) {
+        this.statisticsEndpoint = statisticsEndpoint;
+        this.shapes = shapes;
+    }
+
+    @WriteOperation
+    public Map<String, Object> configure(@Nullable Boolean enabled, @Nullable Double sampleRate, @Nullable Boolean clear) {
+        Statistics statistics = statisticsEndpoint.hibernateStatistics();
+        if (enabled != null) {
+            statistics.setStatisticsEnabled(enabled);
+        }
+        if (sampleRate != null) {
+            shapes.setSampleRate(sampleRate);
+        }
+        if (Boolean.TRUE.equals(clear)) {
+            statistics.clear();
+            shapes.clear();
+        }
+        return statisticsEndpoint.statistics();
+    }
+}
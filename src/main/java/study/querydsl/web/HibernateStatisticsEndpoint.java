@@ -0,0 +1,61 @@
+package study.querydsl.web;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+import study.querydsl.repository.support.QueryShapeStatistics;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * GET /actuator/hibernate - hibernate 통계 전체 + 레퍼지토리 메서드, 쿼리 모양별 집계 (QueryShapeStatistics)
+ * 읽기 전용 - 켜기/끄기, 초기화는 HibernateStatisticsControlEndpoint (기본 꺼짐)
+ */
+@Component
+@Endpoint(id = "hibernate")
+public class HibernateStatisticsEndpoint {
+
+    static final int MAX_QUERIES = 50;
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final QueryShapeStatistics shapes;
+
+    public HibernateStatisticsEndpoint(EntityManagerFactory entityManagerFactory, QueryShapeStatistics shapes) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.shapes = shapes;
+    }
+
+    @ReadOperation
+    public Map<String, Object> statistics() {
+        Statistics statistics = hibernateStatistics();
+        Map<String, Object> totals = new LinkedHashMap<>();
+        totals.put("queryExecutionCount", statistics.getQueryExecutionCount());
+        totals.put("queryExecutionMaxTime", statistics.getQueryExecutionMaxTime());
+        totals.put("queryExecutionMaxTimeQueryString", statistics.getQueryExecutionMaxTimeQueryString());
+        totals.put("entityLoadCount", statistics.getEntityLoadCount());
+        totals.put("entityFetchCount", statistics.getEntityFetchCount());
+        totals.put("collectionLoadCount", statistics.getCollectionLoadCount());
+        totals.put("collectionFetchCount", statistics.getCollectionFetchCount());
+        totals.put("flushCount", statistics.getFlushCount());
+        totals.put("secondLevelCacheHitCount", statistics.getSecondLevelCacheHitCount());
+        totals.put("secondLevelCacheMissCount", statistics.getSecondLevelCacheMissCount());
+        totals.put("sessionOpenCount", statistics.getSessionOpenCount());
+        totals.put("transactionCount", statistics.getTransactionCount());
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", statistics.isStatisticsEnabled());
+        result.put("sampleRate", shapes.getSampleRate());
+        result.put("totals", totals);
+        result.put("operations", shapes.operations());
+        result.put("queries", shapes.queries(MAX_QUERIES));
+        return result;
+    }
+
+    Statistics hibernateStatistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -0,0 +1,20 @@
+package study.querydsl.web;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import study.querydsl.repository.support.InvalidSortException;
+
+/**
+ * 허용되지 않은 정렬 조건 -> 400
+ */
+@RestControllerAdvice
+public class InvalidSortExceptionHandler {
+
+    @ExceptionHandler(InvalidSortException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public String invalidSort(InvalidSortException e) {
+        return e.getMessage();
+    }
+}
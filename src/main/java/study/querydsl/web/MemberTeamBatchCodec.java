@@ -0,0 +1,120 @@
+package study.querydsl.web;
+
+import study.querydsl.dto.MemberTeamDto;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * MemberTeamDto 목록 컬럼 형식 바이너리 인코딩
+ * JSON 처럼 행마다 필드명을 반복하지 않고, 팀 이름은 사전(dictionary) 인덱스로 저장
+ *
+ * version(byte), rows(int)
+ * dictionary: size(int), teamName(UTF) * size
+ * memberId: long * rows
+ * username: (present(byte), UTF) * rows
+ * age: int * rows
+ * teamId: (present(byte), long) * rows
+ * teamName: dictionary index(int, 없으면 -1) * rows
+ */
+public class MemberTeamBatchCodec {
+
+    private static final byte VERSION = 1;
+
+    public void write(List<MemberTeamDto> rows, OutputStream outputStream) throws IOException {
+        DataOutputStream out = new DataOutputStream(outputStream);
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> teamNames = new ArrayList<>();
+        int[] teamNameIndexes = new int[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            String teamName = rows.get(i).getTeamName();
+            if (teamName == null) {
+                teamNameIndexes[i] = -1;
+                continue;
+            }
+            Integer index = dictionary.get(teamName);
+            if (index == null) {
+                index = teamNames.size();
+                dictionary.put(teamName, index);
+                teamNames.add(teamName);
+            }
+            teamNameIndexes[i] = index;
+        }
+
+        out.writeByte(VERSION);
+        out.writeInt(rows.size());
+        out.writeInt(teamNames.size());
+        for (String teamName : teamNames) {
+            out.writeUTF(teamName);
+        }
+        for (MemberTeamDto row : rows) {
+            out.writeLong(row.getMemberId());
+        }
+        for (MemberTeamDto row : rows) {
+            writeNullable(out, row.getUsername());
+        }
+        for (MemberTeamDto row : rows) {
+            out.writeInt(row.getAge());
+        }
+        for (MemberTeamDto row : rows) {
+            out.writeBoolean(row.getTeamId() != null);
+            if (row.getTeamId() != null) {
+                out.writeLong(row.getTeamId());
+            }
+        }
+        for (int index : teamNameIndexes) {
+            out.writeInt(index);
+        }
+        out.flush();
+    }
+
+    public List<MemberTeamDto> read(InputStream inputStream) throws IOException {
+        DataInputStream in = new DataInputStream(inputStream);
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("unsupported member-team batch version: " + version);
+        }
+        int size = in.readInt();
+        String[] teamNames = new String[in.readInt()];
+        for (int i = 0; i < teamNames.length; i++) {
+            teamNames[i] = in.readUTF();
+        }
+        long[] memberIds = new long[size];
+        for (int i = 0; i < size; i++) {
+            memberIds[i] = in.readLong();
+        }
+        String[] usernames = new String[size];
+        for (int i = 0; i < size; i++) {
+            usernames[i] = in.readBoolean() ? in.readUTF() : null;
+        }
+        int[] ages = new int[size];
+        for (int i = 0; i < size; i++) {
+            ages[i] = in.readInt();
+        }
+        Long[] teamIds = new Long[size];
+        for (int i = 0; i < size; i++) {
+            teamIds[i] = in.readBoolean() ? in.readLong() : null;
+        }
+
+        List<MemberTeamDto> rows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int index = in.readInt();
+            rows.add(new MemberTeamDto(memberIds[i], usernames[i], ages[i], teamIds[i], index < 0 ? null : teamNames[index]));
+        }
+        return rows;
+    }
+
+    private void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+}
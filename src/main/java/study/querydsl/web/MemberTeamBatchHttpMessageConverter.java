@@ -0,0 +1,66 @@
+package study.querydsl.web;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import study.querydsl.dto.MemberTeamDto;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Accept: application/x-member-team-batch 일 때 List<MemberTeamDto> 를 MemberTeamBatchCodec 으로 응답
+ * 응답 스트림에 바로 씀 (중간 byte[] 없음)
+ */
+public class MemberTeamBatchHttpMessageConverter extends AbstractGenericHttpMessageConverter<List<MemberTeamDto>> {
+
+    public static final MediaType MEMBER_TEAM_BATCH = MediaType.valueOf("application/x-member-team-batch");
+
+    private final MemberTeamBatchCodec codec = new MemberTeamBatchCodec();
+
+    public MemberTeamBatchHttpMessageConverter() {
+        super(MEMBER_TEAM_BATCH);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return isMemberTeamList(type) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return isMemberTeamList(type != null ? type : clazz) && canWrite(mediaType);
+    }
+
+    private boolean isMemberTeamList(Type type) {
+        ResolvableType resolvableType = ResolvableType.forType(type);
+        return List.class.isAssignableFrom(resolvableType.toClass())
+                && resolvableType.getGeneric(0).toClass() == MemberTeamDto.class;
+    }
+
+    @Override
+    protected void writeInternal(List<MemberTeamDto> rows, Type type, HttpOutputMessage outputMessage) throws IOException {
+        OutputStream body = new BufferedOutputStream(outputMessage.getBody(), 8192);
+        codec.write(rows, body);
+    }
+
+    @Override
+    protected List<MemberTeamDto> readInternal(Class<? extends List<MemberTeamDto>> clazz, HttpInputMessage inputMessage) throws IOException {
+        return codec.read(inputMessage.getBody());
+    }
+
+    @Override
+    public List<MemberTeamDto> read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        return codec.read(inputMessage.getBody());
+    }
+}
@@ -0,0 +1,36 @@
+package study.querydsl.web;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import study.querydsl.repository.support.QueryDeadline;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * @QueryTimeout 이 붙은 API 요청 스레드에 QueryDeadline 등록
+ * 비동기(WebAsyncTask) 로 넘기는 경우 QueryDeadline.current() 를 작업 스레드로 전달해야 함
+ */
+public class QueryDeadlineInterceptor implements AsyncHandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            QueryTimeout timeout = ((HandlerMethod) handler).getMethodAnnotation(QueryTimeout.class);
+            if (timeout != null) {
+                QueryDeadline.after(timeout.value()).bind();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        QueryDeadline.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        QueryDeadline.clear();
+    }
+}
@@ -0,0 +1,17 @@
+package study.querydsl.web;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * API 별 쿼리 마감 시간(ms)
+ * 요청 시작부터 계산, 요청 안에서 실행되는 모든 Querydsl 쿼리에 남은 시간이 timeout 으로 적용됨
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryTimeout {
+
+    long value();
+}
@@ -0,0 +1,21 @@
+package study.querydsl.web;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * 쿼리 마감 시간 초과, 취소, 비동기 쿼리 실행기 포화 (AsyncQueryExecutor) -> 503
+ */
+@RestControllerAdvice
+public class QueryTimeoutExceptionHandler {
+
+    @ExceptionHandler({org.springframework.dao.QueryTimeoutException.class,
+            javax.persistence.QueryTimeoutException.class,
+            java.util.concurrent.RejectedExecutionException.class})
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public String queryTimeout(RuntimeException e) {
+        return e.getMessage();
+    }
+}
@@ -0,0 +1,38 @@
+-- Hibernate(ddl-auto) 가 만드는 member, team 테이블과 동일하게 유지
+-- querydsl-sql 코드 생성(generateQuerydslSql)에서 사용
+create sequence if not exists hibernate_sequence start with 1 increment by 1;
+
+create table if not exists team (
+    team_id bigint not null,
+    name varchar(255),
+    version bigint,
+    member_count bigint default 0 not null,
+    modified_at timestamp default current_timestamp on update current_timestamp not null,
+    primary key (team_id)
+);
+
+create table if not exists member (
+    member_id bigint not null,
+    age integer not null,
+    username varchar(255),
+    team_id bigint,
+    version bigint,
+    modified_at timestamp default current_timestamp on update current_timestamp not null,
+    primary key (member_id),
+    constraint fk_member_team foreign key (team_id) references team (team_id)
+);
+
+create index if not exists idx_member_username on member (username, member_id);
+create index if not exists idx_member_age on member (age, member_id);
+create index if not exists idx_team_modified_at on team (modified_at, team_id);
+create index if not exists idx_member_modified_at on member (modified_at, member_id);
+
+-- 변경 기록 (outbox, MemberChangeLog)
+create table if not exists member_change_log (
+    seq bigint generated by default as identity,
+    entity_type varchar(16) not null,
+    entity_id bigint,
+    change_type varchar(16) not null,
+    changed_at timestamp not null,
+    primary key (seq)
+);
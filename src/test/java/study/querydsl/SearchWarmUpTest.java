@@ -0,0 +1,30 @@
+package study.querydsl;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "querydsl.warm-up.enabled=true",
+        "querydsl.warm-up.iterations=2",
+        "querydsl.warm-up.conditions[0].teamName=teamA"
+})
+class SearchWarmUpTest {
+
+    @Autowired
+    SearchWarmUp searchWarmUp;
+
+    @Autowired
+    ApplicationAvailability applicationAvailability;
+
+    @Test
+    public void warmUpBeforeReady() {
+        assertThat(searchWarmUp.isRunning()).isTrue();
+        assertThat(searchWarmUp.getDurationMillis()).isGreaterThanOrEqualTo(0);
+        assertThat(applicationAvailability.getReadinessState()).isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+    }
+}
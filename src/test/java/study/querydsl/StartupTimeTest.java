@@ -0,0 +1,30 @@
+package study.querydsl;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.querydsl.repository.MemberRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * fast-startup 프로파일 설정 확인 (기동 시간 비교는 loadTest 의 StartupTimeBenchmark)
+ */
+class StartupTimeTest {
+
+    @Test
+    public void lazyBeansAndDeferredRepositories() {
+        try (ConfigurableApplicationContext context = run("fast-startup")) {
+            assertThat(context.getBeanFactory().getBeanDefinition("memberBatchLoader").isLazyInit()).isTrue();
+            // deferred 모드 - 레퍼지토리 사용 가능
+            assertThat(context.getBean(MemberRepository.class).count()).isGreaterThanOrEqualTo(0);
+        }
+    }
+
+    private ConfigurableApplicationContext run(String... profiles) {
+        return new SpringApplicationBuilder(QuerydslApplication.class)
+                .profiles(profiles)
+                .properties("server.port=0")
+                .run();
+    }
+}
@@ -0,0 +1,33 @@
+package study.querydsl.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConnectionPoolPropertiesTest {
+
+    @Test
+    public void poolSizeByCores() {
+        ConnectionPoolProperties properties = new ConnectionPoolProperties();
+
+        // 4 * 2 + 1
+        assertThat(properties.poolSize(4)).isEqualTo(9);
+    }
+
+    @Test
+    public void poolSizeLimitedByConcurrency() {
+        ConnectionPoolProperties properties = new ConnectionPoolProperties();
+        properties.setExpectedConcurrency(5);
+
+        assertThat(properties.poolSize(16)).isEqualTo(5);
+    }
+
+    @Test
+    public void explicitPoolSize() {
+        ConnectionPoolProperties properties = new ConnectionPoolProperties();
+        properties.setExpectedConcurrency(5);
+        properties.setMaximumPoolSize(30);
+
+        assertThat(properties.poolSize(16)).isEqualTo(30);
+    }
+}
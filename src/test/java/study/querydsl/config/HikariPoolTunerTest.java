@@ -0,0 +1,46 @@
+package study.querydsl.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HikariPoolTunerTest {
+
+    @Test
+    public void computedPoolSize() {
+        MockEnvironment environment = new MockEnvironment();
+        HikariDataSource dataSource = new HikariDataSource();
+
+        tuner(environment, 5).postProcessAfterInitialization(dataSource, "dataSource");
+
+        assertThat(dataSource.getMaximumPoolSize()).isEqualTo(5);
+        assertThat(dataSource.getMinimumIdle()).isEqualTo(5);
+    }
+
+    @Test
+    public void explicitHikariSettingsKept() {
+        // spring.datasource.hikari 바인딩 결과를 그대로 둬야 함
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.datasource.hikari.maximum-pool-size", "30")
+                .withProperty("spring.datasource.hikari.minimum-idle", "2");
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setMaximumPoolSize(30);
+        dataSource.setMinimumIdle(2);
+
+        tuner(environment, 5).postProcessAfterInitialization(dataSource, "dataSource");
+
+        assertThat(dataSource.getMaximumPoolSize()).isEqualTo(30);
+        assertThat(dataSource.getMinimumIdle()).isEqualTo(2);
+    }
+
+    private HikariPoolTuner tuner(MockEnvironment environment, int expectedConcurrency) {
+        ConnectionPoolProperties properties = new ConnectionPoolProperties();
+        properties.setExpectedConcurrency(expectedConcurrency);
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("connectionPoolProperties", properties);
+        return new HikariPoolTuner(beanFactory.getBeanProvider(ConnectionPoolProperties.class), environment);
+    }
+}
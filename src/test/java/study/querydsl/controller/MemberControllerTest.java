@@ -0,0 +1,87 @@
+package study.querydsl.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class MemberControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Test
+    public void notModified() throws Exception {
+        String etag = mockMvc.perform(get("/v1/member").param("teamName", "teamA"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+        // weak ETag 여야 gzip 압축됨
+        assertThat(etag).startsWith("W/\"");
+
+        // 변경이 없으면 304
+        mockMvc.perform(get("/v1/member").param("teamName", "teamA").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        // 조건이 다르면 다른 ETag
+        String otherEtag = mockMvc.perform(get("/v1/member").param("teamName", "teamB"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(otherEtag).isNotEqualTo(etag);
+    }
+
+    @Test
+    public void modifiedAfterCommit() throws Exception {
+        String etag = mockMvc.perform(get("/v1/member"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        transactionTemplate.executeWithoutResult(status -> em.persist(new Team("etagTeam")));
+        try {
+            mockMvc.perform(get("/v1/member").header("If-None-Match", etag))
+                    .andExpect(status().isOk());
+        } finally {
+            transactionTemplate.executeWithoutResult(status ->
+                    em.createQuery("delete from Team t where t.name = 'etagTeam'").executeUpdate());
+        }
+    }
+
+    @Test
+    public void asyncSearch() throws Exception {
+        MvcResult result = mockMvc.perform(get("/v3/members").param("teamName", "teamA"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void sortWhitelist() throws Exception {
+        mockMvc.perform(get("/v2/members").param("sort", "age,desc"))
+                .andExpect(status().isOk());
+
+        // 인덱스 없는 컬럼 정렬은 400
+        mockMvc.perform(get("/v2/members").param("sort", "teamName"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,45 @@
+package study.querydsl.dto;
+
+import org.junit.jupiter.api.Test;
+import study.querydsl.sql.SMember;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+class MemberSearchPredicatesTest {
+
+    @Test
+    public void emptyConditionHasNoPredicate() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsername(" ");
+
+        assertThat(MemberSearchPredicates.of(condition)).containsOnlyNulls();
+        assertThat(MemberSearchPredicates.joinsTeam(condition)).isFalse();
+    }
+
+    @Test
+    public void fieldsToPredicates() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsername("member1");
+        condition.setTeamName("teamA");
+        condition.setAgeGoe(10);
+        condition.setAgeLoe(40);
+
+        assertThat(MemberSearchPredicates.of(condition)).containsExactly(
+                member.username.eq("member1"),
+                team.name.eq("teamA"),
+                member.age.goe(10),
+                member.age.loe(40));
+        assertThat(MemberSearchPredicates.joinsTeam(condition)).isTrue();
+    }
+
+    @Test
+    public void sqlPredicatesUseSqlPaths() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(10);
+
+        assertThat(MemberSearchSqlPredicates.of(condition))
+                .containsExactly(null, null, SMember.member.age.goe(10), null);
+    }
+}
@@ -0,0 +1,56 @@
+package study.querydsl.entity;
+
+import org.hibernate.engine.spi.ManagedEntity;
+import org.hibernate.engine.spi.PersistentAttributeInterceptable;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static study.querydsl.entity.QMember.member;
+
+/**
+ * hibernate 바이트코드 향상 확인
+ * 엔티티당 메모리, flush 시간 측정은 gradle loadTest (EntityEnhancementBenchmark)
+ */
+class EntityEnhancementTest {
+
+    static final boolean ENHANCED = Boolean.parseBoolean(System.getProperty("hibernate.enhance", "true"));
+
+    @Test
+    public void entitiesAreEnhanced() {
+        assumeTrue(ENHANCED, "-PhibernateEnhance=false");
+        for (Class<?> entity : Arrays.asList(Member.class, Team.class)) {
+            assertThat(ManagedEntity.class.isAssignableFrom(entity)).isTrue();
+            assertThat(PersistentAttributeInterceptable.class.isAssignableFrom(entity)).isTrue();
+            assertThat(SelfDirtinessTracker.class.isAssignableFrom(entity)).isTrue();
+        }
+    }
+
+    @Test
+    public void queryTypesGeneratedFromSource() {
+        // Q타입은 향상 전 소스로 생성 - 향상으로 추가된 필드($$_hibernate_...)가 없어야 함
+        for (Class<?> queryType : Arrays.asList(QMember.class, QTeam.class)) {
+            assertThat(Arrays.stream(queryType.getDeclaredFields()).map(Field::getName))
+                    .noneMatch(name -> name.startsWith("$$_hibernate"));
+        }
+        assertThat(member.team.name.toString()).isEqualTo("member1.team.name");
+        assertThat(member.modifiedAt).isNotNull();
+    }
+
+    // 새 엔티티의 컬렉션은 로딩된 상태 - Member.changeTeam 이 양쪽을 맞춤 (향상 여부와 무관)
+    @Test
+    public void associationManagement() {
+        Team teamA = new Team("enhanceTeamA");
+        Team teamB = new Team("enhanceTeamB");
+        Member moved = new Member("enhanceMember", 10, teamA);
+        assertThat(teamA.getMembers()).containsExactly(moved);
+
+        moved.changeTeam(teamB);
+        assertThat(teamA.getMembers()).isEmpty();
+        assertThat(teamB.getMembers()).containsExactly(moved);
+    }
+}
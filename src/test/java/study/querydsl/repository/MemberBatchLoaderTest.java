@@ -0,0 +1,85 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 로더는 별도 스레드, 별도 트랜잭션에서 조회함으로 커밋된 데이터로 테스트
+ */
+@SpringBootTest
+class MemberBatchLoaderTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    MemberBatchLoader memberBatchLoader;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    List<Long> memberIds = new ArrayList<>();
+
+    @AfterEach
+    public void after() {
+        transactionTemplate.executeWithoutResult(status -> {
+            em.createQuery("delete from Member m where m.username like 'batch%'").executeUpdate();
+            em.createQuery("delete from Team t where t.name = 'batchTeam'").executeUpdate();
+        });
+    }
+
+    @Test
+    public void loadInBatch() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Team team = new Team("batchTeam");
+            em.persist(team);
+            for (int i = 0; i < 3; i++) {
+                Member member = new Member("batch" + i, i, team);
+                em.persist(member);
+                memberIds.add(member.getId());
+            }
+        });
+
+        List<CompletableFuture<Optional<Member>>> futures = new ArrayList<>();
+        for (Long id : memberIds) {
+            futures.add(memberBatchLoader.load(id));
+        }
+        futures.add(memberBatchLoader.load(memberIds.get(0)));
+        CompletableFuture<Optional<Member>> missing = memberBatchLoader.load(-1L);
+
+        for (int i = 0; i < memberIds.size(); i++) {
+            Member member = futures.get(i).join().get();
+            assertThat(member.getId()).isEqualTo(memberIds.get(i));
+            assertThat(member.getTeam().getName()).isEqualTo("batchTeam"); // 페치 조인
+        }
+        assertThat(futures.get(3).join().get().getId()).isEqualTo(memberIds.get(0));
+        assertThat(missing.join()).isEmpty();
+    }
+
+    @Test
+    public void findAllByIdsInChunks() {
+        List<Long> ids = new ArrayList<>();
+        for (long i = 0; i < MemberJpaRepository.IN_CLAUSE_LIMIT * 2 + 1; i++) {
+            ids.add(-i - 1);
+        }
+
+        List<Member> result = transactionTemplate.execute(status -> memberJpaRepository.findAllByIds(ids));
+        assertThat(result).isEmpty();
+    }
+}
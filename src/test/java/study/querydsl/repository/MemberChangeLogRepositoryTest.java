@@ -0,0 +1,86 @@
+package study.querydsl.repository;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.ChangeFeedResponse;
+import study.querydsl.dto.MemberChangeDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.MemberChangeLog.ChangeType;
+import study.querydsl.entity.MemberChangeLog.EntityType;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static study.querydsl.entity.QMember.member;
+
+@SpringBootTest
+@Transactional
+class MemberChangeLogRepositoryTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    MemberChangeLogRepository memberChangeLogRepository;
+
+    @Test
+    public void changesInSameTransaction() {
+        long after = lastSeq();
+
+        Team team = new Team("changeTeam");
+        em.persist(team);
+        Member changed = new Member("change1", 10, team);
+        em.persist(changed);
+        em.flush();
+
+        changed.setAge(11);
+        em.flush();
+
+        queryFactory
+                .update(member)
+                .set(member.age, member.age.add(1))
+                .where(member.team.eq(team))
+                .execute();
+
+        ChangeFeedResponse feed = memberChangeLogRepository.findAfter(after, 100);
+        assertThat(feed.getChanges())
+                .extracting(MemberChangeDto::getEntityType, MemberChangeDto::getEntityId, MemberChangeDto::getChangeType)
+                .containsExactly(
+                        tuple(EntityType.TEAM, team.getId(), ChangeType.INSERT),
+                        tuple(EntityType.MEMBER, changed.getId(), ChangeType.INSERT),
+                        tuple(EntityType.MEMBER, changed.getId(), ChangeType.UPDATE),
+                        tuple(EntityType.MEMBER, null, ChangeType.BULK_UPDATE));
+        assertThat(feed.isHasMore()).isFalse();
+    }
+
+    @Test
+    public void pageBySeq() {
+        long after = lastSeq();
+        for (int i = 0; i < 3; i++) {
+            em.persist(new Team("changeTeam" + i));
+        }
+        em.flush();
+
+        ChangeFeedResponse first = memberChangeLogRepository.findAfter(after, 2);
+        assertThat(first.getChanges()).hasSize(2);
+        assertThat(first.isHasMore()).isTrue();
+
+        ChangeFeedResponse second = memberChangeLogRepository.findAfter(first.getLastSeq(), 2);
+        assertThat(second.getChanges()).hasSize(1);
+        assertThat(second.isHasMore()).isFalse();
+        assertThat(second.getLastSeq()).isGreaterThan(first.getLastSeq());
+    }
+
+    private long lastSeq() {
+        Long seq = em.createQuery("select max(c.seq) from MemberChangeLog c", Long.class).getSingleResult();
+        return seq == null ? 0 : seq;
+    }
+}
@@ -54,6 +54,21 @@ class MemberJpaRepositoryTest {
         assertThat(result2).containsExactly(member);
     }
 
+    @Test
+    public void exportQueryIsReadOnly() {
+        memberJpaRepository.save(new Member("member1", 10));
+        em.flush();
+        em.clear();
+
+        // read-only 힌트 - 변경 감지 대상이 아님
+        List<Member> result = memberJpaRepository.findAll_QueryDsl();
+        result.get(0).setUsername("changed");
+        em.flush();
+        em.clear();
+
+        assertThat(memberJpaRepository.findByUsername("member1")).hasSize(1);
+    }
+
     @Test
     public void searchTest() {
         Team teamA = new Team("teamA");
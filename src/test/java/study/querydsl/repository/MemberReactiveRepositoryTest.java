@@ -0,0 +1,113 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * r2dbc 메모리 H2 (test application.yml) 에서 실행
+ */
+@SpringBootTest
+class MemberReactiveRepositoryTest {
+
+    @Autowired
+    DatabaseClient databaseClient;
+
+    @Autowired
+    MemberReactiveRepository memberReactiveRepository;
+
+    @BeforeEach
+    public void before() {
+        Flux.concat(
+                insertTeam(1L, "teamA"),
+                insertTeam(2L, "teamB"),
+                insertMember(1L, "member1", 10, 1L),
+                insertMember(2L, "member2", 20, 1L),
+                insertMember(3L, "member3", 30, 2L),
+                insertMember(4L, "member4", 40, 2L)
+        ).blockLast();
+    }
+
+    @AfterEach
+    public void after() {
+        Flux.concat(
+                databaseClient.sql("delete from member").then(),
+                databaseClient.sql("delete from team").then()
+        ).blockLast();
+    }
+
+    @Test
+    public void searchTest() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(35);
+        condition.setAgeLoe(40);
+        condition.setTeamName("teamB");
+
+        StepVerifier.create(memberReactiveRepository.search(condition).map(MemberTeamDto::getUsername))
+                .expectNext("member4")
+                .verifyComplete();
+    }
+
+    @Test
+    public void searchPage() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+
+        StepVerifier.create(memberReactiveRepository.searchPage(condition, PageRequest.of(0, 3)))
+                .assertNext(page -> {
+                    assertThat(page.getTotalElements()).isEqualTo(4);
+                    assertThat(page.getContent()).extracting("username")
+                            .containsExactly("member1", "member2", "member3");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void searchPageLastPageSkipsCount() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamB");
+
+        // 첫 페이지가 페이지 크기보다 작으면 count 없이 전체 건수
+        StepVerifier.create(memberReactiveRepository.searchPage(condition, PageRequest.of(0, 3)))
+                .assertNext(page -> {
+                    assertThat(page.getTotalElements()).isEqualTo(2);
+                    assertThat(page.getContent()).extracting("username", "teamName")
+                            .containsExactly(tuple("member3", "teamB"), tuple("member4", "teamB"));
+                })
+                .verifyComplete();
+
+        StepVerifier.create(memberReactiveRepository.searchPage(new MemberSearchCondition(), PageRequest.of(1, 3)))
+                .assertNext(page -> {
+                    assertThat(page.getTotalElements()).isEqualTo(4);
+                    assertThat(page.getContent()).extracting("username").containsExactly("member4");
+                })
+                .verifyComplete();
+    }
+
+    private Mono<Void> insertTeam(Long id, String name) {
+        return databaseClient.sql("insert into team (team_id, name) values (:id, :name)")
+                .bind("id", id)
+                .bind("name", name)
+                .then();
+    }
+
+    private Mono<Void> insertMember(Long id, String username, int age, Long teamId) {
+        return databaseClient.sql("insert into member (member_id, username, age, team_id) values (:id, :username, :age, :teamId)")
+                .bind("id", id)
+                .bind("username", username)
+                .bind("age", age)
+                .bind("teamId", teamId)
+                .then();
+    }
+}
@@ -1,21 +1,29 @@
 package study.querydsl.repository;
 
+import com.querydsl.jpa.impl.JPAQueryFactory;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberSyncCondition;
+import study.querydsl.dto.MemberSyncResponse;
 import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.entity.Member;
 import study.querydsl.entity.QMember;
 import study.querydsl.entity.Team;
 
 import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static study.querydsl.entity.QMember.member;
 
 @SpringBootTest
@@ -28,6 +36,9 @@ public class MemberRepositoryTest {
     @Autowired
     MemberRepository memberRepository;
 
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
     @Test
     public void basicTest() {
         Member member = new Member("member1", 10);
@@ -96,6 +107,27 @@ public class MemberRepositoryTest {
         assertThat(result.getContent()).extracting("username").containsExactly("member1");
     }
 
+    @Test
+    public void searchSlice() {
+        Team sliceTeam = new Team("sliceTeam");
+        em.persist(sliceTeam);
+        for (int i = 1; i <= 4; i++) {
+            em.persist(new Member("slice" + i, i * 10, sliceTeam));
+        }
+
+        // 공유 DB 의 다른 회원이 섞이지 않도록 이 테스트의 팀으로 한정
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("sliceTeam");
+
+        Slice<MemberTeamDto> first = memberRepository.searchSlice(condition, PageRequest.of(0, 3));
+        assertThat(first.getContent()).hasSize(3);
+        assertThat(first.hasNext()).isTrue();
+
+        Slice<MemberTeamDto> last = memberRepository.searchSlice(condition, PageRequest.of(1, 3));
+        assertThat(last.getContent()).hasSize(1);
+        assertThat(last.hasNext()).isFalse();
+    }
+
     @Test
     public void querydslPredicateExecutorTest() {
         Team teamA = new Team("teamA");
@@ -119,6 +151,70 @@ public class MemberRepositoryTest {
             System.out.println("member1: " + findMember);
         }
     }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void syncModifiedSince() throws InterruptedException {
+        // modified_at 은 DB 가 트랜잭션 시작 시각으로 채움 - 변경마다 커밋
+        LocalDateTime since = LocalDateTime.now().minusSeconds(1);
+        Long member1Id = transactionTemplate.execute(status -> {
+            Team team = new Team("syncTeam");
+            em.persist(team);
+            Member member1 = new Member("sync1", 10, team);
+            em.persist(member1);
+            em.persist(new Member("sync2", 20, team));
+            em.flush();
+            // jpa 를 거치지 않은 insert 도 modified_at 이 채워짐
+            Number id = (Number) em.createNativeQuery("select next value for hibernate_sequence").getSingleResult();
+            em.createNativeQuery("insert into member (member_id, username, age, team_id, version) values (?, 'sync3', 30, ?, 0)")
+                    .setParameter(1, id.longValue())
+                    .setParameter(2, team.getId())
+                    .executeUpdate();
+            return member1.getId();
+        });
+
+        try {
+            MemberSyncCondition condition = new MemberSyncCondition();
+            condition.setTeamName("syncTeam");
+            condition.setModifiedSince(since);
+
+            MemberSyncResponse first = memberRepository.searchModifiedSince(condition, 2);
+            assertThat(first.getContent()).extracting("username").containsExactly("sync1", "sync2");
+            assertThat(first.isHasMore()).isTrue();
+
+            condition.setLastModifiedAt(first.getLastModifiedAt());
+            condition.setLastMemberId(first.getLastMemberId());
+            MemberSyncResponse second = memberRepository.searchModifiedSince(condition, 2);
+            assertThat(second.getContent()).extracting("username").containsExactly("sync3");
+            assertThat(second.isHasMore()).isFalse();
+
+            // 계측 없는 JPAQueryFactory 의 벌크 update 도 modifiedAt 변경 -> 커서 이후로 다시 보임
+            Thread.sleep(10);
+            transactionTemplate.executeWithoutResult(status -> new JPAQueryFactory(em)
+                    .update(member)
+                    .set(member.age, member.age.add(1))
+                    .where(member.id.eq(member1Id))
+                    .execute());
+
+            condition.setLastModifiedAt(second.getLastModifiedAt());
+            condition.setLastMemberId(second.getLastMemberId());
+            MemberSyncResponse third = memberRepository.searchModifiedSince(condition, 2);
+            assertThat(third.getContent()).extracting("username", "age").containsExactly(tuple("sync1", 11));
+            assertThat(third.getLastModifiedAt()).isAfter(second.getLastModifiedAt());
+
+            condition.setLastModifiedAt(third.getLastModifiedAt());
+            condition.setLastMemberId(third.getLastMemberId());
+            MemberSyncResponse empty = memberRepository.searchModifiedSince(condition, 2);
+            assertThat(empty.getContent()).isEmpty();
+            assertThat(empty.getLastModifiedAt()).isEqualTo(third.getLastModifiedAt());
+        } finally {
+            transactionTemplate.executeWithoutResult(status -> {
+                em.createQuery("delete from Member m where m.username like 'sync%'").executeUpdate();
+                em.createQuery("delete from Team t where t.name = 'syncTeam'").executeUpdate();
+            });
+        }
+    }
+
     /**
      * 조인이 안됨 (묵시적 조인은 가능하지만 left join 불가능)
      * 클라이언트가 queryDsl에 의존해야함 - 서비스와 컨트롤러 로직이 모두 querydsl에 의존관계가 생김
@@ -0,0 +1,91 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberSqlRepositoryTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberSqlRepository memberSqlRepository;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @BeforeEach
+    public void before() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamB));
+
+        // querydsl-sql 은 영속성 컨텍스트를 거치지 않음으로 flush 필요
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void searchTest() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(35);
+        condition.setAgeLoe(40);
+        condition.setTeamName("teamB");
+
+        List<MemberTeamDto> result = memberSqlRepository.search(condition);
+
+        assertThat(result).extracting("username").containsExactly("member4");
+        assertThat(result).isEqualTo(memberRepository.search(condition));
+    }
+
+    @Test
+    public void searchPageComplex() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamA");
+        PageRequest pageRequest = PageRequest.of(0, 3);
+
+        Page<MemberTeamDto> result = memberSqlRepository.searchPageComplex(condition, pageRequest);
+        Page<MemberTeamDto> jpaResult = memberRepository.searchPageComplex(condition, pageRequest);
+
+        assertThat(result.getTotalElements()).isEqualTo(jpaResult.getTotalElements());
+        assertThat(result.getContent()).containsExactlyInAnyOrderElementsOf(jpaResult.getContent());
+    }
+
+    @Test
+    public void searchPageDeferred() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(15);
+        PageRequest pageRequest = PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "age"));
+
+        Page<MemberTeamDto> result = memberSqlRepository.searchPageDeferred(condition, pageRequest);
+        Page<MemberTeamDto> jpaResult = memberRepository.searchPageDeferred(condition, pageRequest);
+
+        assertThat(result.getTotalElements()).isEqualTo(3);
+        assertThat(result.getContent()).extracting("username").containsExactly("member2");
+        assertThat(result.getContent()).isEqualTo(jpaResult.getContent());
+        assertThat(result.getContent()).isEqualTo(memberRepository.searchPageComplex(condition, pageRequest).getContent());
+    }
+}
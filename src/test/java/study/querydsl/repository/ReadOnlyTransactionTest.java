@@ -0,0 +1,92 @@
+package study.querydsl.repository;
+
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 읽기 전용 트랜잭션 (FlushMode.MANUAL, 읽기 전용 엔티티)
+ * 쓰기 트랜잭션과의 요청당 CPU 시간 비교는 gradle loadTest (ReadOnlyTransactionBenchmark)
+ */
+@SpringBootTest
+class ReadOnlyTransactionTest {
+
+    static final int MEMBERS = 10;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    MemberTestRepository memberTestRepository;
+
+    TransactionTemplate readWrite;
+    TransactionTemplate readOnly;
+
+    @BeforeEach
+    public void before() {
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        readWrite.executeWithoutResult(status -> {
+            Team team = new Team("readOnlyTeam");
+            em.persist(team);
+            for (int i = 0; i < MEMBERS; i++) {
+                em.persist(new Member("readOnly" + i, i % 100, team));
+            }
+        });
+    }
+
+    @AfterEach
+    public void after() {
+        readWrite.executeWithoutResult(status -> {
+            em.createQuery("delete from Member m where m.username like 'readOnly%'").executeUpdate();
+            em.createQuery("delete from Team t where t.name = 'readOnlyTeam'").executeUpdate();
+        });
+    }
+
+    @Test
+    public void entitiesAreEnhancedForDirtyTracking() {
+        assumeTrue(Boolean.parseBoolean(System.getProperty("hibernate.enhance", "true")), "-PhibernateEnhance=false");
+        assertThat(SelfDirtinessTracker.class.isAssignableFrom(Member.class)).isTrue();
+        assertThat(SelfDirtinessTracker.class.isAssignableFrom(Team.class)).isTrue();
+    }
+
+    @Test
+    public void readOnlyTransactionSkipsFlush() {
+        readOnly.executeWithoutResult(status -> {
+            Session session = em.unwrap(Session.class);
+            assertThat(session.getHibernateFlushMode()).isEqualTo(FlushMode.MANUAL);
+            assertThat(session.isDefaultReadOnly()).isTrue();
+
+            Member member = memberTestRepository.searchPageByApplyPage(condition(), PageRequest.of(0, 1))
+                    .getContent().get(0);
+            assertThat(session.isReadOnly(member)).isTrue();
+        });
+    }
+
+    private MemberSearchCondition condition() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("readOnlyTeam");
+        return condition;
+    }
+}
@@ -0,0 +1,109 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 메모리 H2 3개를 샤드로 사용
+ */
+@SpringBootTest(properties = {
+        "querydsl.shards.enabled=true",
+        "querydsl.shards.init-schema=true",
+        "querydsl.shards.urls[0]=jdbc:h2:mem:shard0;DB_CLOSE_DELAY=-1",
+        "querydsl.shards.urls[1]=jdbc:h2:mem:shard1;DB_CLOSE_DELAY=-1",
+        "querydsl.shards.urls[2]=jdbc:h2:mem:shard2;DB_CLOSE_DELAY=-1"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ShardedMemberRepositoryTest {
+
+    static final int TEAMS = 5;
+    static final int MEMBERS_PER_TEAM = 7;
+
+    @Autowired
+    ShardedMemberRepository shardedMemberRepository;
+
+    List<Long> teamIds = new ArrayList<>();
+
+    @BeforeAll
+    public void before() {
+        for (int t = 0; t < TEAMS; t++) {
+            teamIds.add(shardedMemberRepository.saveTeam("shardTeam" + t));
+        }
+        for (int t = 0; t < TEAMS; t++) {
+            for (int m = 0; m < MEMBERS_PER_TEAM; m++) {
+                shardedMemberRepository.save("member" + t + "_" + m, (m * TEAMS + t) % 50, teamIds.get(t));
+            }
+        }
+    }
+
+    @Test
+    public void routeByTeam() {
+        Long teamId = shardedMemberRepository.saveTeam("routeTeam");
+        Long memberId = shardedMemberRepository.save("routed", 200, teamId);
+
+        assertThat(shardedMemberRepository.shardOfMember(memberId)).isEqualTo(shardedMemberRepository.shardOfTeam(teamId));
+        MemberTeamDto findMember = shardedMemberRepository.findById(memberId).get();
+        assertThat(findMember.getUsername()).isEqualTo("routed");
+        assertThat(findMember.getTeamName()).isEqualTo("routeTeam"); // 팀은 모든 샤드에 복제
+    }
+
+    @Test
+    public void scatterGatherSearch() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeLoe(100);
+
+        List<MemberTeamDto> result = shardedMemberRepository.search(condition);
+
+        assertThat(result).hasSize(TEAMS * MEMBERS_PER_TEAM);
+        assertThat(result).isSortedAccordingTo(Comparator.comparing(MemberTeamDto::getMemberId));
+        assertThat(result.stream().map(MemberTeamDto::getMemberId).map(shardedMemberRepository::shardOfMember)
+                .collect(Collectors.toSet())).hasSizeGreaterThan(1);
+    }
+
+    @Test
+    public void mergedPages() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeLoe(100);
+        Sort sort = Sort.by(Sort.Direction.DESC, "age");
+        Comparator<MemberTeamDto> order = Comparator.comparingInt(MemberTeamDto::getAge)
+                .thenComparing(MemberTeamDto::getMemberId)
+                .reversed();
+        List<MemberTeamDto> expected = shardedMemberRepository.search(condition).stream()
+                .sorted(order)
+                .collect(Collectors.toList());
+
+        List<MemberTeamDto> paged = new ArrayList<>();
+        for (int page = 0; ; page++) {
+            Page<MemberTeamDto> result = shardedMemberRepository.searchPage(condition, PageRequest.of(page, 4, sort));
+            assertThat(result.getTotalElements()).isEqualTo(expected.size());
+            if (result.getContent().isEmpty()) {
+                break;
+            }
+            paged.addAll(result.getContent());
+        }
+
+        assertThat(paged).isEqualTo(expected);
+    }
+
+    @Test
+    public void kWayMerge() {
+        List<List<Integer>> lists = List.of(List.of(1, 4, 7), List.of(2, 5), List.of(), List.of(3, 6, 8, 9));
+
+        assertThat(ShardedMemberRepository.merge(lists, Comparator.naturalOrder(), 2, 4)).containsExactly(3, 4, 5, 6);
+    }
+}
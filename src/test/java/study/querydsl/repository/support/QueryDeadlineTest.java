@@ -0,0 +1,59 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.QueryTimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static study.querydsl.entity.QMember.member;
+
+@SpringBootTest
+@Transactional
+class QueryDeadlineTest {
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @AfterEach
+    public void after() {
+        QueryDeadline.clear();
+    }
+
+    @Test
+    public void queryWithinDeadline() {
+        QueryDeadline.after(3000).bind();
+
+        assertThat(queryFactory.selectFrom(member).fetch()).isNotNull();
+    }
+
+    @Test
+    public void deadlineExceeded() {
+        QueryDeadline.after(0).bind();
+
+        // 마감 시간이 지나면 쿼리를 만들지 않음
+        assertThatThrownBy(() -> queryFactory.selectFrom(member))
+                .isInstanceOf(QueryTimeoutException.class);
+    }
+
+    @Test
+    public void cancelledDeadline() {
+        QueryDeadline deadline = QueryDeadline.after(3000);
+        deadline.bind();
+        deadline.cancel();
+
+        assertThatThrownBy(() -> queryFactory.selectFrom(member))
+                .isInstanceOf(QueryTimeoutException.class);
+    }
+
+    @Test
+    public void timeoutRoundedUpToSeconds() {
+        // 1초 미만이 0(무제한)으로 내림되지 않도록
+        assertThat(QueryDeadline.after(300).queryTimeoutMillis()).isEqualTo(1000);
+    }
+}
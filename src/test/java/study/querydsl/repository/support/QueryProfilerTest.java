@@ -0,0 +1,86 @@
+package study.querydsl.repository.support;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.MemberRepository;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "querydsl.profiling.timers=true")
+@Transactional
+class QueryProfilerTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    public void phaseTimers() {
+        persistMembers();
+
+        memberRepository.searchPageSimple(new MemberSearchCondition(), PageRequest.of(0, 3));
+
+        for (QueryProfiler.Phase phase : QueryProfiler.Phase.values()) {
+            Timer timer = meterRegistry.find("querydsl.query.phase")
+                    .tag("query", "member.searchPageSimple")
+                    .tag("phase", phase.name().toLowerCase())
+                    .timer();
+            assertThat(timer).as(phase.name()).isNotNull();
+            assertThat(timer.count()).as(phase.name()).isGreaterThan(0);
+        }
+    }
+
+    @Test
+    public void jfrEvents() throws IOException {
+        persistMembers();
+
+        Path file = Files.createTempFile("query-phase", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("study.querydsl.QueryPhase");
+            recording.start();
+            memberRepository.searchPageSimple(new MemberSearchCondition(), PageRequest.of(0, 3));
+            recording.stop();
+            recording.dump(file);
+
+            Set<String> phases = RecordingFile.readAllEvents(file).stream()
+                    .filter(e -> "member.searchPageSimple".equals(e.getString("query")))
+                    .map(e -> e.getString("phase"))
+                    .collect(Collectors.toSet());
+            assertThat(phases).containsExactlyInAnyOrder("BUILD", "SERIALIZE", "TRANSLATE", "EXECUTE", "MAP");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private void persistMembers() {
+        Team team = new Team("profileTeam");
+        em.persist(team);
+        for (int i = 0; i < 5; i++) {
+            em.persist(new Member("profile" + i, i, team));
+        }
+        em.flush();
+        em.clear();
+    }
+}
@@ -0,0 +1,137 @@
+package study.querydsl.repository.support;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import javax.persistence.QueryTimeoutException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    public void coalesceConcurrentCalls() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>("test", 10, meterRegistry);
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            results.add(executor.submit(() -> singleFlight.execute("key", () -> {
+                executions.incrementAndGet();
+                await(release);
+                return "result";
+            })));
+        }
+        // 나머지 4건이 실행 중인 결과를 기다릴 때까지
+        while (meterRegistry.get("singleflight.coalesced").functionCounter().count() < 4) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get()).isEqualTo("result");
+        }
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(singleFlight.getCoalescingRatio()).isEqualTo(0.8);
+        executor.shutdown();
+    }
+
+    @Test
+    public void notCachedAfterCompletion() {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>("test", 10, meterRegistry);
+        AtomicInteger executions = new AtomicInteger();
+
+        singleFlight.execute("key", executions::incrementAndGet);
+        singleFlight.execute("key", executions::incrementAndGet);
+
+        assertThat(executions.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void bypassWhenFull() {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>("test", 0, meterRegistry);
+
+        assertThat(singleFlight.execute("key", () -> 1)).isEqualTo(1);
+        assertThat(meterRegistry.get("singleflight.bypassed").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void propagateFailure() {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>("test", 10, meterRegistry);
+
+        assertThatThrownBy(() -> singleFlight.execute("key", () -> {
+            throw new IllegalStateException("fail");
+        })).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void waitOnlyUntilOwnDeadline() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>("test", 10, meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<String> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+            await(release);
+            return "result";
+        }));
+        while (meterRegistry.get("singleflight.in-flight").gauge().value() < 1) {
+            Thread.sleep(1);
+        }
+
+        QueryDeadline.after(50).bind();
+        try {
+            assertThatThrownBy(() -> singleFlight.execute("key", () -> "waiter"))
+                    .isInstanceOf(QueryTimeoutException.class);
+        } finally {
+            QueryDeadline.clear();
+            release.countDown();
+        }
+        assertThat(leader.get()).isEqualTo("result");
+        executor.shutdown();
+    }
+
+    @Test
+    public void retryWhenLeaderTimesOut() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>("test", 10, meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<String> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+            await(release);
+            throw new QueryTimeoutException("leader deadline exceeded");
+        }));
+        while (meterRegistry.get("singleflight.in-flight").gauge().value() < 1) {
+            Thread.sleep(1);
+        }
+
+        // 먼저 실행한 요청의 마감 시간 초과를 물려받지 않고 직접 실행
+        Future<String> waiter = executor.submit(() -> singleFlight.execute("key", () -> "waiter"));
+        while (meterRegistry.get("singleflight.coalesced").functionCounter().count() < 1) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        assertThat(waiter.get()).isEqualTo("waiter");
+        assertThatThrownBy(leader::get).hasCauseInstanceOf(QueryTimeoutException.class);
+        executor.shutdown();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
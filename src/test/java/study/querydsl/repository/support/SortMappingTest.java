@@ -0,0 +1,60 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.core.types.OrderSpecifier;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import study.querydsl.repository.MemberSort;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static study.querydsl.entity.QMember.member;
+
+class SortMappingTest {
+
+    @Test
+    public void unsortedOrdersByTieBreaker() {
+        OrderSpecifier<?>[] orders = MemberSort.MAPPING.toOrderSpecifiers(Sort.unsorted());
+
+        assertThat(orders).containsExactly(member.id.asc());
+    }
+
+    @Test
+    public void tieBreakerFollowsDirection() {
+        OrderSpecifier<?>[] orders = MemberSort.MAPPING.toOrderSpecifiers(Sort.by(Sort.Direction.DESC, "age"));
+
+        assertThat(orders).containsExactly(member.age.desc(), member.id.desc());
+    }
+
+    @Test
+    public void tieBreakerNotDuplicated() {
+        OrderSpecifier<?>[] orders = MemberSort.MAPPING.toOrderSpecifiers(Sort.by(Sort.Direction.DESC, "memberId"));
+
+        assertThat(orders).containsExactly(member.id.desc());
+    }
+
+    @Test
+    public void ignoreCaseRewritten() {
+        OrderSpecifier<?>[] orders = MemberSort.MAPPING.toOrderSpecifiers(Sort.by(Sort.Order.asc("username").ignoreCase()));
+
+        assertThat(orders).containsExactly(member.username.asc(), member.id.asc());
+    }
+
+    @Test
+    public void unknownKeyRejected() {
+        assertThatThrownBy(() -> MemberSort.MAPPING.toOrderSpecifiers(Sort.by("team.name")))
+                .isInstanceOf(InvalidSortException.class);
+    }
+
+    @Test
+    public void tooManyKeysRejected() {
+        assertThatThrownBy(() -> MemberSort.MAPPING.toOrderSpecifiers(Sort.by("age", "username")))
+                .isInstanceOf(InvalidSortException.class);
+    }
+
+    @Test
+    public void noneRejectsSort() {
+        assertThat(SortMapping.NONE.toOrderSpecifiers(Sort.unsorted())).isEmpty();
+        assertThatThrownBy(() -> SortMapping.NONE.toOrderSpecifiers(Sort.by("age")))
+                .isInstanceOf(InvalidSortException.class);
+    }
+}
@@ -0,0 +1,247 @@
+package study.querydsl.service;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static study.querydsl.entity.QMember.member;
+
+/**
+ * 여러 스레드가 커밋하는 데이터로 테스트
+ */
+@SpringBootTest
+class MemberServiceTest {
+
+    static final int MEMBERS = 10;
+    static final int THREADS = 8;
+    static final int CHANGES_PER_THREAD = 50;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    MemberService memberService;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    List<Long> memberIds = new ArrayList<>();
+    List<Long> teamIds = new ArrayList<>();
+
+    @BeforeEach
+    public void before() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Team teamA = new Team("lockTeamA");
+            Team teamB = new Team("lockTeamB");
+            em.persist(teamA);
+            em.persist(teamB);
+            teamIds.add(teamA.getId());
+            teamIds.add(teamB.getId());
+            for (int i = 0; i < MEMBERS; i++) {
+                Member member = new Member("lock" + i, i, i % 2 == 0 ? teamA : teamB);
+                em.persist(member);
+                memberIds.add(member.getId());
+            }
+        });
+    }
+
+    @AfterEach
+    public void after() {
+        transactionTemplate.executeWithoutResult(status -> {
+            em.createQuery("delete from Member m where m.username like 'lock%'").executeUpdate();
+            em.createQuery("delete from Team t where t.name like 'lockTeam%'").executeUpdate();
+        });
+    }
+
+    @Test
+    public void changeTeam() {
+        Long memberId = memberIds.get(0); // teamA
+        memberService.changeTeam(memberId, teamIds.get(1));
+
+        Member findMember = transactionTemplate.execute(status -> em.find(Member.class, memberId));
+        assertThat(findMember.getVersion()).isEqualTo(1L);
+        assertThat(memberCount(teamIds.get(0))).isEqualTo(MEMBERS / 2 - 1);
+        assertThat(memberCount(teamIds.get(1))).isEqualTo(MEMBERS / 2 + 1);
+    }
+
+    @Test
+    public void changeTeamWithoutLoadingMembers() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Member findMember = em.find(Member.class, memberIds.get(0));
+            Team teamB = em.find(Team.class, teamIds.get(1));
+
+            findMember.changeTeam(teamB);
+
+            assertThat(findMember.getTeam()).isSameAs(teamB);
+            assertThat(Hibernate.isInitialized(teamB.getMembers())).isFalse();
+            assertThat(Hibernate.isInitialized(findMember.getTeam().getMembers())).isFalse();
+            status.setRollbackOnly();
+        });
+    }
+
+    @Test
+    public void changeTeamFromLoadedTeamWithoutLoadingMembers() {
+        // 이전 팀을 프록시가 아닌 엔티티로 로딩 - members 컬렉션은 여전히 로딩 안됨
+        transactionTemplate.executeWithoutResult(status -> {
+            Team teamA = em.find(Team.class, teamIds.get(0));
+            Member findMember = em.find(Member.class, memberIds.get(0));
+            assertThat(findMember.getTeam()).isSameAs(teamA);
+            assertThat(Hibernate.isInitialized(teamA)).isTrue();
+
+            findMember.changeTeam(em.find(Team.class, teamIds.get(1)));
+
+            assertThat(Hibernate.isInitialized(teamA.getMembers())).isFalse();
+            assertThat(Hibernate.isInitialized(findMember.getTeam().getMembers())).isFalse();
+            em.flush();
+            assertThat(Hibernate.isInitialized(teamA.getMembers())).isFalse();
+            status.setRollbackOnly();
+        });
+    }
+
+    @Test
+    public void changeTeamSyncsLoadedMembers() {
+        // 이미 로딩된 컬렉션은 양쪽 모두 맞춤
+        transactionTemplate.executeWithoutResult(status -> {
+            Team teamA = em.find(Team.class, teamIds.get(0));
+            Team teamB = em.find(Team.class, teamIds.get(1));
+            Member findMember = em.find(Member.class, memberIds.get(0));
+            assertThat(teamA.getMembers()).contains(findMember);
+            assertThat(teamB.getMembers()).hasSize(MEMBERS / 2);
+
+            findMember.changeTeam(teamB);
+
+            assertThat(teamA.getMembers()).doesNotContain(findMember).hasSize(MEMBERS / 2 - 1);
+            assertThat(teamB.getMembers()).contains(findMember).hasSize(MEMBERS / 2 + 1);
+            status.setRollbackOnly();
+        });
+    }
+
+    @Test
+    public void moveMembers() {
+        long moved = memberService.moveMembers(teamIds.get(0), teamIds.get(1));
+
+        assertThat(moved).isEqualTo(MEMBERS / 2);
+        assertThat(actualMemberCount(teamIds.get(0))).isEqualTo(0);
+        assertThat(actualMemberCount(teamIds.get(1))).isEqualTo(MEMBERS);
+        assertThat(memberCount(teamIds.get(0))).isEqualTo(0);
+        assertThat(memberCount(teamIds.get(1))).isEqualTo(MEMBERS);
+        Member movedMember = transactionTemplate.execute(status -> em.find(Member.class, memberIds.get(0)));
+        assertThat(movedMember.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    public void memberCountFollowsInsertAndDelete() {
+        // persist 한 회원은 before() 에서 이미 집계됨
+        assertThat(memberCount(teamIds.get(0))).isEqualTo(MEMBERS / 2);
+
+        transactionTemplate.executeWithoutResult(status -> em.remove(em.find(Member.class, memberIds.get(0))));
+        assertThat(memberCount(teamIds.get(0))).isEqualTo(MEMBERS / 2 - 1);
+
+        // 벌크 delete 는 같은 where 로 센 팀만 감소
+        transactionTemplate.executeWithoutResult(status -> queryFactory
+                .delete(member)
+                .where(member.team.id.eq(teamIds.get(1)))
+                .execute());
+        assertThat(memberCount(teamIds.get(1))).isEqualTo(0);
+        assertThat(memberCount(teamIds.get(0))).isEqualTo(actualMemberCount(teamIds.get(0)));
+    }
+
+    @Test
+    public void bulkTeamUpdateFollowsMemberCount() {
+        // moveMembers 외의 벌크 팀 변경도 팀별 회원 수만큼 증감
+        transactionTemplate.executeWithoutResult(status -> queryFactory
+                .update(member)
+                .set(member.team, em.getReference(Team.class, teamIds.get(1)))
+                .where(member.username.in("lock0", "lock2"))
+                .execute());
+        assertThat(memberCount(teamIds.get(0))).isEqualTo(MEMBERS / 2 - 2);
+        assertThat(memberCount(teamIds.get(1))).isEqualTo(MEMBERS / 2 + 2);
+
+        transactionTemplate.executeWithoutResult(status -> queryFactory
+                .update(member)
+                .setNull(member.team)
+                .where(member.username.eq("lock1"))
+                .execute());
+        assertThat(memberCount(teamIds.get(1))).isEqualTo(MEMBERS / 2 + 1);
+        for (Long teamId : teamIds) {
+            assertThat(memberCount(teamId)).isEqualTo(actualMemberCount(teamId));
+        }
+    }
+
+    @Test
+    public void bulkTeamUpdateWithExpressionIsUnsupported() {
+        assertThatThrownBy(() -> queryFactory
+                .update(member)
+                .set(member.team, member.team))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void changeTeamUnderContention() throws InterruptedException {
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        long start = System.nanoTime();
+        for (int t = 0; t < THREADS; t++) {
+            executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < CHANGES_PER_THREAD; i++) {
+                    Long memberId = memberIds.get(random.nextInt(MEMBERS));
+                    Long teamId = teamIds.get(random.nextInt(teamIds.size()));
+                    try {
+                        memberService.changeTeam(memberId, teamId);
+                        succeeded.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        failed.incrementAndGet();
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        System.out.println("changeTeam " + succeeded.get() + " ok, " + failed.get() + " failed in "
+                + elapsedMillis + " ms (" + succeeded.get() * 1000L / elapsedMillis + " ops/s)");
+
+        // 실패 건수는 장비 속도에 따라 다름 - 실패한 변경은 카운터도 롤백되어 카운터와 실제 회원 수가 같아야 함
+        assertThat(succeeded.get() + failed.get()).isEqualTo(THREADS * CHANGES_PER_THREAD);
+        for (Long teamId : teamIds) {
+            assertThat(memberCount(teamId)).isEqualTo(actualMemberCount(teamId));
+        }
+        assertThat(memberCount(teamIds.get(0)) + memberCount(teamIds.get(1))).isEqualTo(MEMBERS);
+    }
+
+    private long memberCount(Long teamId) {
+        return transactionTemplate.execute(status -> em.find(Team.class, teamId).getMemberCount());
+    }
+
+    private long actualMemberCount(Long teamId) {
+        return transactionTemplate.execute(status -> em
+                .createQuery("select count(m) from Member m where m.team.id = :teamId", Long.class)
+                .setParameter("teamId", teamId)
+                .getSingleResult());
+    }
+}
@@ -0,0 +1,45 @@
+package study.querydsl.web;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import study.querydsl.repository.support.QueryDeadline;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AsyncQueryExecutorTest {
+
+    AsyncQueryExecutor asyncQueryExecutor = new AsyncQueryExecutor(1, 1);
+
+    @AfterEach
+    public void after() {
+        QueryDeadline.clear();
+        asyncQueryExecutor.destroy();
+    }
+
+    @Test
+    public void dedicatedExecutorAndDeadline() {
+        QueryDeadline.after(3000).bind();
+
+        WebAsyncTask<String> task = asyncQueryExecutor.withDeadline(() -> "ok");
+
+        assertThat(task.getExecutor()).isInstanceOf(ThreadPoolTaskExecutor.class);
+        assertThat(((ThreadPoolTaskExecutor) task.getExecutor()).getMaxPoolSize()).isEqualTo(1);
+        assertThat(task.getTimeout()).isBetween(1L, 3000L);
+    }
+
+    @Test
+    public void rejectWhenFull() {
+        QueryDeadline.after(3000).bind();
+
+        // 스레드 1 + 대기열 1
+        asyncQueryExecutor.withDeadline(() -> "running");
+        asyncQueryExecutor.withDeadline(() -> "queued");
+
+        assertThatThrownBy(() -> asyncQueryExecutor.withDeadline(() -> "rejected"))
+                .isInstanceOf(TaskRejectedException.class);
+    }
+}
@@ -0,0 +1,87 @@
+package study.querydsl.web;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.MemberRepository;
+import study.querydsl.repository.support.QueryShapeStatistics.OperationSnapshot;
+import study.querydsl.repository.support.QueryShapeStatistics.QuerySnapshot;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "querydsl.hibernate-statistics.enabled=true",
+        "querydsl.hibernate-statistics.sample-rate=1",
+        "querydsl.hibernate-statistics.control-enabled=true"})
+@Transactional
+class HibernateStatisticsEndpointTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    HibernateStatisticsEndpoint endpoint;
+
+    @Autowired
+    HibernateStatisticsControlEndpoint controlEndpoint;
+
+    @BeforeEach
+    public void before() {
+        Team team = new Team("statsTeam");
+        em.persist(team);
+        em.persist(new Member("stats1", 10, team));
+        em.persist(new Member("stats2", 20, team));
+        em.flush();
+        em.clear();
+        controlEndpoint.configure(true, 1.0, true);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void groupedByOperationAndShape() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("statsTeam");
+        memberRepository.searchPageSimple(condition, PageRequest.of(0, 10));
+
+        Map<String, Object> statistics = endpoint.statistics();
+        assertThat(statistics.get("enabled")).isEqualTo(true);
+
+        Map<String, OperationSnapshot> operations = (Map<String, OperationSnapshot>) statistics.get("operations");
+        OperationSnapshot operation = operations.get("member.searchPageSimple");
+        assertThat(operation.getSamples()).isEqualTo(1);
+        assertThat(operation.getQueries()).isEqualTo(2); // content + count
+
+        List<QuerySnapshot> queries = (List<QuerySnapshot>) statistics.get("queries");
+        assertThat(queries)
+                .filteredOn(q -> "member.searchPageSimple".equals(q.getOperation()))
+                .hasSize(2)
+                .allSatisfy(q -> assertThat(q.getShape()).doesNotContain("statsTeam").contains("?"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void disabledRecordsNothing() {
+        controlEndpoint.configure(false, null, true);
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        memberRepository.searchPageSimple(condition, PageRequest.of(0, 10));
+
+        Map<String, Object> statistics = endpoint.statistics();
+        assertThat(statistics.get("enabled")).isEqualTo(false);
+        assertThat((Map<String, OperationSnapshot>) statistics.get("operations")).isEmpty();
+        controlEndpoint.configure(true, null, null);
+    }
+}
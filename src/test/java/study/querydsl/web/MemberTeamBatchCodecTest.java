@@ -0,0 +1,56 @@
+package study.querydsl.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.Test;
+import study.querydsl.dto.MemberTeamDto;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberTeamBatchCodecTest {
+
+    MemberTeamBatchCodec codec = new MemberTeamBatchCodec();
+
+    @Test
+    public void roundTrip() throws IOException {
+        List<MemberTeamDto> rows = new ArrayList<>();
+        rows.add(new MemberTeamDto(1L, "member1", 10, 1L, "teamA"));
+        rows.add(new MemberTeamDto(2L, null, 20, null, null));
+        rows.add(new MemberTeamDto(3L, "member3", 30, 1L, "teamA"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        codec.write(rows, out);
+
+        assertThat(codec.read(new ByteArrayInputStream(out.toByteArray()))).isEqualTo(rows);
+    }
+
+    /**
+     * json, cbor, batch 크기 비교 (인코딩 시간은 loadTest 의 MemberTeamBatchCodecBenchmark)
+     * 행마다 필드명, 팀 이름을 반복하지 않아 json 의 절반 이하
+     */
+    @Test
+    public void smallerThanJsonAndCbor() throws IOException {
+        List<MemberTeamDto> rows = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            rows.add(new MemberTeamDto((long) i, "member" + i, i % 100, (long) (i % 10), "team" + (i % 10)));
+        }
+        byte[] jsonBytes = new ObjectMapper().writeValueAsBytes(rows);
+        byte[] cborBytes = new ObjectMapper(new CBORFactory()).writeValueAsBytes(rows);
+        byte[] batchBytes = encode(rows);
+
+        assertThat(batchBytes.length).isLessThan(cborBytes.length);
+        assertThat((double) batchBytes.length / jsonBytes.length).isLessThan(0.5);
+    }
+
+    private byte[] encode(List<MemberTeamDto> rows) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        codec.write(rows, out);
+        return out.toByteArray();
+    }
+}